@@ -0,0 +1,57 @@
+package com.shikshaspace.shikshaspaceui.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.shikshaspace.shikshaspaceui.dto.SpaceResponse;
+import com.shikshaspace.shikshaspaceui.dto.SpaceSummary;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/** Deterministic fixtures shared by the benchmarks. */
+final class BenchmarkData {
+
+  private static final String[] CATEGORIES = {
+    "AI/ML", "Web Development", "Data Science", "Cloud", "Security"
+  };
+
+  private BenchmarkData() {}
+
+  static ObjectMapper objectMapper() {
+    return new ObjectMapper()
+        .registerModule(new JavaTimeModule())
+        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+  }
+
+  static List<SpaceResponse> spaces(int count) {
+    LocalDateTime base = LocalDateTime.of(2025, 1, 1, 20, 0);
+    List<SpaceResponse> spaces = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      spaces.add(
+          SpaceResponse.builder()
+              .id(new UUID(0, i))
+              .title("Space " + i)
+              .subtitle("Subtitle for space " + i)
+              .description("A longer description of what space " + i + " is about.")
+              .hostUserId(new UUID(1, i % 100))
+              .hostUsername("host" + (i % 100))
+              .hostEmail("host" + (i % 100) + "@example.com")
+              .scheduledAt(base.plusHours(i))
+              .durationMinutes(60)
+              .maxParticipants(50)
+              .category(CATEGORIES[i % CATEGORIES.length])
+              .status("SCHEDULED")
+              .isPublic(true)
+              .createdAt(base)
+              .updatedAt(base)
+              .build());
+    }
+    return spaces;
+  }
+
+  static List<SpaceSummary> summaries(int count) {
+    return spaces(count).stream().map(SpaceSummary::from).toList();
+  }
+}
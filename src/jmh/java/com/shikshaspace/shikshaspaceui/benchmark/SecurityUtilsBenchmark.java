@@ -0,0 +1,56 @@
+package com.shikshaspace.shikshaspaceui.benchmark;
+
+import com.shikshaspace.shikshaspaceui.security.SecurityUtils;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+public class SecurityUtilsBenchmark {
+
+  @Param({"authenticated", "anonymous"})
+  String user;
+
+  private SecurityUtils securityUtils;
+
+  @Setup
+  public void setUp() {
+    securityUtils = new SecurityUtils();
+    Authentication authentication =
+        "authenticated".equals(user)
+            ? UsernamePasswordAuthenticationToken.authenticated(
+                "rahul", null, AuthorityUtils.createAuthorityList("ROLE_USER"))
+            : new AnonymousAuthenticationToken(
+                "key",
+                "anonymousUser",
+                List.of(AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS").get(0)));
+    SecurityContextHolder.getContext().setAuthentication(authentication);
+  }
+
+  @TearDown
+  public void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Benchmark
+  public boolean isUserLoggedIn() {
+    return securityUtils.isUserLoggedIn();
+  }
+
+  @Benchmark
+  public String getAuthenticatedUsername() {
+    return securityUtils.getAuthenticatedUsername();
+  }
+}
@@ -0,0 +1,51 @@
+package com.shikshaspace.shikshaspaceui.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shikshaspace.shikshaspaceui.dto.SpaceResponse;
+import com.shikshaspace.shikshaspaceui.dto.SpaceSummary;
+import java.io.IOException;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Jackson cost of turning a {@code /api/v1/spaces} body into {@link SpaceResponse}s, and a {@code
+ * view=summary} body into {@link SpaceSummary}s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+public class SpaceDeserializationBenchmark {
+
+  private static final TypeReference<List<SpaceResponse>> SPACE_LIST = new TypeReference<>() {};
+  private static final TypeReference<List<SpaceSummary>> SUMMARY_LIST = new TypeReference<>() {};
+
+  @Param({"10", "100", "1000", "10000"})
+  int spaces;
+
+  private ObjectMapper objectMapper;
+  private byte[] json;
+  private byte[] summaryJson;
+
+  @Setup
+  public void setUp() throws IOException {
+    objectMapper = BenchmarkData.objectMapper();
+    json = objectMapper.writeValueAsBytes(BenchmarkData.spaces(spaces));
+    summaryJson = objectMapper.writeValueAsBytes(BenchmarkData.summaries(spaces));
+  }
+
+  @Benchmark
+  public List<SpaceResponse> readList() throws IOException {
+    return objectMapper.readValue(json, SPACE_LIST);
+  }
+
+  @Benchmark
+  public List<SpaceSummary> readSummaryList() throws IOException {
+    return objectMapper.readValue(summaryJson, SUMMARY_LIST);
+  }
+}
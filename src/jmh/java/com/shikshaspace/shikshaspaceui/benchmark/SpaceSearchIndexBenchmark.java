@@ -0,0 +1,93 @@
+package com.shikshaspace.shikshaspaceui.benchmark;
+
+import com.shikshaspace.shikshaspaceui.config.BackgroundThreads;
+import com.shikshaspace.shikshaspaceui.config.CacheProperties;
+import com.shikshaspace.shikshaspaceui.config.SpaceUpdatesProperties;
+import com.shikshaspace.shikshaspaceui.dto.SpaceSearchResult;
+import com.shikshaspace.shikshaspaceui.metrics.ErrorMetrics;
+import com.shikshaspace.shikshaspaceui.service.SpaceCatalogCache;
+import com.shikshaspace.shikshaspaceui.service.SpaceSearchIndex;
+import com.shikshaspace.shikshaspaceui.service.SpaceService;
+import com.shikshaspace.shikshaspaceui.service.SpaceUpdateBroadcaster;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/** Explore keystroke cost: {@link SpaceSearchIndex} queries of varying selectivity. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+public class SpaceSearchIndexBenchmark {
+
+  private static final int PAGE_SIZE = 24;
+
+  @Param({"1000", "10000"})
+  int spaces;
+
+  private StubSpaceBackend backend;
+  private SpaceSearchIndex index;
+
+  @Setup
+  public void setUp() throws Exception {
+    backend =
+        new StubSpaceBackend(
+            BenchmarkData.objectMapper().writeValueAsBytes(BenchmarkData.summaries(spaces)),
+            spaces);
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    WebClient webClient =
+        WebClient.builder()
+            .baseUrl(backend.baseUrl())
+            .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(16 * 1024 * 1024))
+            .build();
+    SpaceService spaceService =
+        new SpaceService(
+            webClient,
+            new SpaceCatalogCache(webClient, new CacheProperties(), meterRegistry),
+            new ErrorMetrics(meterRegistry));
+    SpaceUpdateBroadcaster broadcaster =
+        new SpaceUpdateBroadcaster(
+            spaceService,
+            new SpaceUpdatesProperties(),
+            new BackgroundThreads(new StandardEnvironment()),
+            meterRegistry);
+    index = new SpaceSearchIndex(spaceService, broadcaster, meterRegistry);
+    index.ready().block();
+  }
+
+  @TearDown
+  public void tearDown() {
+    backend.close();
+  }
+
+  /** Blank query: the first page of the whole catalog with precomputed facets. */
+  @Benchmark
+  public SpaceSearchResult browse() {
+    return index.search("", null, 0, PAGE_SIZE);
+  }
+
+  /** Two typed letters matching every space. */
+  @Benchmark
+  public SpaceSearchResult broadPrefix() {
+    return index.search("sp", null, 0, PAGE_SIZE);
+  }
+
+  /** A host prefix matching about one space in ten. */
+  @Benchmark
+  public SpaceSearchResult narrowPrefix() {
+    return index.search("host4", null, 0, PAGE_SIZE);
+  }
+
+  /** Two words intersected, narrowed further by a category facet. */
+  @Benchmark
+  public SpaceSearchResult multiWordWithCategory() {
+    return index.search("data sci", "Data Science", 0, PAGE_SIZE);
+  }
+}
@@ -0,0 +1,71 @@
+package com.shikshaspace.shikshaspaceui.benchmark;
+
+import com.shikshaspace.shikshaspaceui.config.CacheProperties;
+import com.shikshaspace.shikshaspaceui.dto.SpacePage;
+import com.shikshaspace.shikshaspaceui.dto.SpaceResponse;
+import com.shikshaspace.shikshaspaceui.metrics.ErrorMetrics;
+import com.shikshaspace.shikshaspaceui.service.SpaceCatalogCache;
+import com.shikshaspace.shikshaspaceui.service.SpaceService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * End-to-end {@link SpaceService} reads against {@link StubSpaceBackend}: a cold read pays the HTTP
+ * round-trip and deserialization, a warm read is served from {@link SpaceCatalogCache}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+public class SpaceServiceBenchmark {
+
+  @Param({"24", "1000"})
+  int spaces;
+
+  private StubSpaceBackend backend;
+  private SpaceCatalogCache catalogCache;
+  private SpaceService spaceService;
+
+  @Setup
+  public void setUp() throws Exception {
+    List<SpaceResponse> payload = BenchmarkData.spaces(spaces);
+    backend = new StubSpaceBackend(BenchmarkData.objectMapper().writeValueAsBytes(payload), spaces);
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    WebClient webClient =
+        WebClient.builder()
+            .baseUrl(backend.baseUrl())
+            .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(16 * 1024 * 1024))
+            .build();
+    catalogCache = new SpaceCatalogCache(webClient, new CacheProperties(), meterRegistry);
+    spaceService = new SpaceService(webClient, catalogCache, new ErrorMetrics(meterRegistry));
+  }
+
+  @TearDown
+  public void tearDown() {
+    backend.close();
+  }
+
+  @Benchmark
+  public List<SpaceResponse> coldGetAllSpaces() {
+    catalogCache.invalidateAll();
+    return spaceService.getAllSpaces();
+  }
+
+  @Benchmark
+  public List<SpaceResponse> warmGetAllSpaces() {
+    return spaceService.getAllSpaces();
+  }
+
+  @Benchmark
+  public SpacePage warmGetSpacesPage() {
+    return spaceService.getSpacesPage(0, 24, null).block();
+  }
+}
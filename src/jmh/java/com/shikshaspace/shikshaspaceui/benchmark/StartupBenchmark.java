@@ -0,0 +1,71 @@
+package com.shikshaspace.shikshaspaceui.benchmark;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cold start to the first served HomePage. Each invocation launches the packaged app in a fresh JVM
+ * (see {@link StartupRun}); stopping it is outside the measured time. Modes: the plain jar, with
+ * Spring AOT, and with AOT plus the trained CDS archive.
+ *
+ * <p>Needs the fast-startup build, so it is excluded from {@code ./gradlew jmh}; run {@code
+ * ./gradlew -PfastStartup startupBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+
+  @Param({"jar", "aot", "aot-cds"})
+  String mode;
+
+  private StartupRun run;
+  private List<String> jvmArgs;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    run = new StartupRun(Path.of(System.getProperty("startup.appJar")));
+    String aot = "-Dspring.aot.enabled=true";
+    jvmArgs =
+        switch (mode) {
+          case "jar" -> List.of();
+          case "aot" -> List.of(aot);
+          case "aot-cds" -> List.of(
+              aot, "-XX:SharedArchiveFile=" + System.getProperty("startup.cdsArchive"));
+          default -> throw new IllegalArgumentException(mode);
+        };
+  }
+
+  @Benchmark
+  public Duration homePage() throws Exception {
+    return run.timeToHomePage(jvmArgs);
+  }
+
+  @TearDown(Level.Invocation)
+  public void stopApp() throws InterruptedException {
+    run.stop();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws InterruptedException {
+    run.close();
+  }
+}
@@ -0,0 +1,148 @@
+package com.shikshaspace.shikshaspaceui.benchmark;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold starts of the packaged app against stub backends. {@link #timeToHomePage} launches {@code
+ * java -jar} on the app and logs in through {@link StubIdentityProvider}. It returns once {@code /}
+ * serves the HomePage with the first page of cards.
+ *
+ * <p>The app boots from an OIDC snapshot of the stub provider, so no run depends on Keycloak. It
+ * also runs with {@code vaadin.eagerServerLoad}, so the HomePage is rendered into the first
+ * response rather than a follow-up request.
+ */
+final class StartupRun implements AutoCloseable {
+
+  /** The HomePage's title; it only appears once the view itself has been built. */
+  static final String HOME_MARKER = "Home - ShikshaSpace";
+
+  private static final Duration START_TIMEOUT = Duration.ofMinutes(2);
+  private static final int SPACES = 24;
+
+  private final Path appJar;
+  private final StubSpaceBackend backend;
+  private final StubIdentityProvider identityProvider;
+  private final Path workDir;
+  private Process process;
+
+  StartupRun(Path appJar) throws Exception {
+    this.appJar = appJar;
+    this.backend =
+        new StubSpaceBackend(
+                BenchmarkData.objectMapper().writeValueAsBytes(BenchmarkData.summaries(SPACES)),
+                SPACES)
+            .json(
+                "/api/v1/users/me",
+                BenchmarkData.objectMapper()
+                    .writeValueAsBytes(Map.of("username", StubIdentityProvider.USERNAME)))
+            .json("/api/v1/auth/external", "{}".getBytes(StandardCharsets.UTF_8));
+    this.identityProvider = new StubIdentityProvider();
+    this.workDir = Files.createTempDirectory("startup-run");
+    BenchmarkData.objectMapper()
+        .writeValue(workDir.resolve("oidc-snapshot.json").toFile(), identityProvider.snapshot());
+  }
+
+  /**
+   * Starts the app with {@code jvmArgs} and waits until a logged-in user is served the HomePage.
+   */
+  Duration timeToHomePage(List<String> jvmArgs) throws Exception {
+    int port = freePort();
+    List<String> command = new ArrayList<>();
+    command.add(ProcessHandle.current().info().command().orElse("java"));
+    command.addAll(jvmArgs);
+    command.addAll(
+        List.of(
+            "-jar",
+            appJar.toString(),
+            "--server.port=" + port,
+            "--backend.space-service.url=" + backend.baseUrl(),
+            "--backend.user-service.url=" + backend.baseUrl(),
+            "--oidc-snapshot.issuer-uri=" + identityProvider.issuer(),
+            "--oidc-snapshot.file=" + workDir.resolve("oidc-snapshot.json"),
+            "--oidc-snapshot.discover-if-missing=false",
+            "--vaadin.eagerServerLoad=true"));
+
+    ProcessBuilder builder =
+        new ProcessBuilder(command)
+            .directory(workDir.toFile())
+            .redirectErrorStream(true)
+            .redirectOutput(workDir.resolve("app.log").toFile());
+    builder.environment().put("KEYCLOAK_UI_CLIENT_SECRET", "bench");
+    builder.environment().put("KEYCLOAK_ISSUER_URI", identityProvider.issuer());
+
+    long start = System.nanoTime();
+    process = builder.start();
+    URI login = URI.create("http://127.0.0.1:" + port + "/oauth2/authorization/keycloak");
+    while (System.nanoTime() - start < START_TIMEOUT.toNanos()) {
+      if (!process.isAlive()) {
+        throw new IllegalStateException(
+            "App exited with " + process.exitValue() + ", see " + workDir.resolve("app.log"));
+      }
+      if (servesHomePage(login)) {
+        return Duration.ofNanos(System.nanoTime() - start);
+      }
+      Thread.sleep(20);
+    }
+    throw new IllegalStateException(
+        "No HomePage within " + START_TIMEOUT + ", see " + workDir.resolve("app.log"));
+  }
+
+  /** The full login: app, stub authorization endpoint, code exchange, then the HomePage. */
+  private boolean servesHomePage(URI login) throws InterruptedException {
+    HttpClient client =
+        HttpClient.newBuilder()
+            .cookieHandler(new CookieManager())
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(Duration.ofSeconds(1))
+            .build();
+    try {
+      HttpResponse<String> response =
+          client.send(HttpRequest.newBuilder(login).build(), HttpResponse.BodyHandlers.ofString());
+      return response.statusCode() == 200 && response.body().contains(HOME_MARKER);
+    } catch (IOException e) {
+      // Not listening yet
+      return false;
+    } finally {
+      client.close();
+    }
+  }
+
+  /** Stops the app the way an orchestrator would, so JVM exit hooks (and CDS dumps) run. */
+  void stop() throws InterruptedException {
+    if (process == null) {
+      return;
+    }
+    process.destroy();
+    if (!process.waitFor(60, TimeUnit.SECONDS)) {
+      process.destroyForcibly().waitFor();
+    }
+    process = null;
+  }
+
+  private static int freePort() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+
+  @Override
+  public void close() throws InterruptedException {
+    stop();
+    backend.close();
+    identityProvider.close();
+  }
+}
@@ -0,0 +1,37 @@
+package com.shikshaspace.shikshaspaceui.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Training run for the CDS archive: one cold start in AOT mode, a login and a served HomePage, then
+ * a graceful stop so the JVM writes every class it loaded to the archive.
+ *
+ * <p>Usage: {@code StartupTraining <app.jar> <archive.jsa>}, run by {@code ./gradlew -PfastStartup
+ * cdsArchive}.
+ */
+public final class StartupTraining {
+
+  private StartupTraining() {}
+
+  public static void main(String[] args) throws Exception {
+    Path appJar = Path.of(args[0]);
+    Path archive = Path.of(args[1]).toAbsolutePath();
+    Files.createDirectories(archive.getParent());
+    Files.deleteIfExists(archive);
+
+    try (StartupRun run = new StartupRun(appJar)) {
+      Duration elapsed =
+          run.timeToHomePage(
+              List.of("-Dspring.aot.enabled=true", "-XX:ArchiveClassesAtExit=" + archive));
+      run.stop();
+      System.out.printf("Training run served the HomePage after %d ms%n", elapsed.toMillis());
+    }
+    if (!Files.isRegularFile(archive)) {
+      throw new IllegalStateException("The JVM did not write " + archive);
+    }
+    System.out.printf("Wrote %s (%d KB)%n", archive, Files.size(archive) / 1024);
+  }
+}
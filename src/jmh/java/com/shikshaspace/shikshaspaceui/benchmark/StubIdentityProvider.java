@@ -0,0 +1,203 @@
+package com.shikshaspace.shikshaspaceui.benchmark;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process OIDC provider for driving a real login without Keycloak. The authorization endpoint
+ * approves every request straight away, and the token endpoint issues an RS256 ID token for a
+ * single benchmark user.
+ */
+final class StubIdentityProvider implements AutoCloseable {
+
+  static final String USERNAME = "bench-user";
+  private static final String REALM_PATH = "/realms/bench";
+  private static final String OIDC_PATH = REALM_PATH + "/protocol/openid-connect";
+
+  private final HttpServer server;
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+  private final RSAKey signingKey;
+  private final Map<String, String> nonceByCode = new ConcurrentHashMap<>();
+
+  StubIdentityProvider() throws IOException, JOSEException {
+    signingKey = new RSAKeyGenerator(2048).keyID("bench").generate();
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.setExecutor(executor);
+    server.createContext(
+        REALM_PATH + "/.well-known/openid-configuration",
+        exchange ->
+            respond(exchange, 200, BenchmarkData.objectMapper().writeValueAsBytes(metadata())));
+    server.createContext(OIDC_PATH + "/auth", this::authorize);
+    server.createContext(OIDC_PATH + "/token", this::token);
+    server.createContext(
+        OIDC_PATH + "/userinfo",
+        exchange ->
+            respond(
+                exchange,
+                200,
+                BenchmarkData.objectMapper()
+                    .writeValueAsBytes(
+                        Map.of(
+                            "sub", USERNAME,
+                            "preferred_username", USERNAME,
+                            "email", USERNAME + "@example.com"))));
+    server.createContext(
+        OIDC_PATH + "/certs",
+        exchange ->
+            respond(
+                exchange,
+                200,
+                new JWKSet(signingKey.toPublicJWK())
+                    .toString(true)
+                    .getBytes(StandardCharsets.UTF_8)));
+    server.start();
+  }
+
+  String issuer() {
+    return "http://127.0.0.1:" + server.getAddress().getPort() + REALM_PATH;
+  }
+
+  /** Contents for {@code oidc-snapshot.file}, so the app boots without discovery. */
+  Map<String, Object> snapshot() {
+    String now = Instant.now().toString();
+    Map<String, Object> snapshot = new LinkedHashMap<>();
+    snapshot.put("issuer", issuer());
+    snapshot.put("metadataFetchedAt", now);
+    snapshot.put("metadata", metadata());
+    snapshot.put("jwksFetchedAt", now);
+    snapshot.put("jwks", new JWKSet(signingKey.toPublicJWK()).toJSONObject(true));
+    return snapshot;
+  }
+
+  private Map<String, Object> metadata() {
+    String oidc = issuer().replace(REALM_PATH, OIDC_PATH);
+    Map<String, Object> metadata = new LinkedHashMap<>();
+    metadata.put("issuer", issuer());
+    metadata.put("authorization_endpoint", oidc + "/auth");
+    metadata.put("token_endpoint", oidc + "/token");
+    metadata.put("userinfo_endpoint", oidc + "/userinfo");
+    metadata.put("jwks_uri", oidc + "/certs");
+    metadata.put("end_session_endpoint", oidc + "/logout");
+    return metadata;
+  }
+
+  private void authorize(HttpExchange exchange) throws IOException {
+    Map<String, String> params = form(exchange.getRequestURI().getRawQuery());
+    String code = UUID.randomUUID().toString();
+    nonceByCode.put(code, params.getOrDefault("nonce", ""));
+    String location =
+        params.get("redirect_uri")
+            + "?code="
+            + code
+            + "&state="
+            + URLEncoder.encode(params.get("state"), StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().add("Location", location);
+    respond(exchange, 302, new byte[0]);
+  }
+
+  private void token(HttpExchange exchange) throws IOException {
+    Map<String, String> params =
+        form(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+    String nonce = nonceByCode.remove(params.get("code"));
+    if (nonce == null) {
+      respond(exchange, 400, "{\"error\":\"invalid_grant\"}".getBytes(StandardCharsets.UTF_8));
+      return;
+    }
+
+    Instant now = Instant.now();
+    JWTClaimsSet.Builder claims =
+        new JWTClaimsSet.Builder()
+            .issuer(issuer())
+            .subject(USERNAME)
+            .audience(clientId(exchange))
+            .issueTime(Date.from(now))
+            .expirationTime(Date.from(now.plusSeconds(300)))
+            .claim("preferred_username", USERNAME);
+    if (!nonce.isEmpty()) {
+      claims.claim("nonce", nonce);
+    }
+    SignedJWT idToken =
+        new SignedJWT(
+            new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(),
+            claims.build());
+    try {
+      idToken.sign(new RSASSASigner(signingKey));
+    } catch (JOSEException e) {
+      throw new IOException(e);
+    }
+
+    Map<String, Object> response = new LinkedHashMap<>();
+    response.put("access_token", UUID.randomUUID().toString());
+    response.put("token_type", "Bearer");
+    response.put("expires_in", 300);
+    response.put("refresh_token", UUID.randomUUID().toString());
+    response.put("scope", "openid profile email");
+    response.put("id_token", idToken.serialize());
+    respond(exchange, 200, BenchmarkData.objectMapper().writeValueAsBytes(response));
+  }
+
+  /** The client authenticates with {@code client_secret_basic}. */
+  private static String clientId(HttpExchange exchange) {
+    String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+    String credentials =
+        new String(
+            Base64.getDecoder().decode(authorization.substring("Basic ".length())),
+            StandardCharsets.UTF_8);
+    return URLDecoder.decode(
+        credentials.substring(0, credentials.indexOf(':')), StandardCharsets.UTF_8);
+  }
+
+  private static Map<String, String> form(String encoded) {
+    Map<String, String> params = new LinkedHashMap<>();
+    if (encoded == null || encoded.isEmpty()) {
+      return params;
+    }
+    for (String pair : encoded.split("&")) {
+      int eq = pair.indexOf('=');
+      params.put(
+          URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8),
+          eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+    }
+    return params;
+  }
+
+  private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+    if (body.length > 0) {
+      exchange.getResponseHeaders().add("Content-Type", "application/json");
+    }
+    exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,57 @@
+package com.shikshaspace.shikshaspaceui.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/** In-process space-service stub answering {@code GET /api/v1/spaces} with a fixed payload. */
+final class StubSpaceBackend implements AutoCloseable {
+
+  private final HttpServer server;
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+  StubSpaceBackend(byte[] spacesJson, int totalCount) throws IOException {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.setExecutor(executor);
+    server.createContext(
+        "/api/v1/spaces",
+        exchange -> {
+          exchange.getResponseHeaders().add("Content-Type", "application/json");
+          exchange.getResponseHeaders().add("X-Total-Count", Integer.toString(totalCount));
+          respond(exchange, spacesJson);
+        });
+    server.start();
+  }
+
+  /** Also answers {@code path} (and everything below it) with {@code json}, e.g. user-service. */
+  StubSpaceBackend json(String path, byte[] json) {
+    server.createContext(
+        path,
+        exchange -> {
+          exchange.getResponseHeaders().add("Content-Type", "application/json");
+          respond(exchange, json);
+        });
+    return this;
+  }
+
+  String baseUrl() {
+    return "http://127.0.0.1:" + server.getAddress().getPort();
+  }
+
+  private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+    exchange.sendResponseHeaders(200, body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+}
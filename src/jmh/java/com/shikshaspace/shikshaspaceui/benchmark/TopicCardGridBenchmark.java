@@ -0,0 +1,60 @@
+package com.shikshaspace.shikshaspaceui.benchmark;
+
+import com.shikshaspace.shikshaspaceui.component.TopicCard;
+import com.shikshaspace.shikshaspaceui.config.CacheProperties;
+import com.shikshaspace.shikshaspaceui.dto.SpaceSummary;
+import com.shikshaspace.shikshaspaceui.metrics.ErrorMetrics;
+import com.shikshaspace.shikshaspaceui.security.SecurityUtils;
+import com.shikshaspace.shikshaspaceui.service.SpaceCatalogCache;
+import com.shikshaspace.shikshaspaceui.service.SpaceService;
+import com.vaadin.flow.component.html.Div;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * Server-side cost of building a HomePage-style grid of N cards. There is no Vaadin session, so
+ * each card's joined lookup answers false without calling the (unreachable) space-service.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+public class TopicCardGridBenchmark {
+
+  @Param({"20", "200", "2000"})
+  int cards;
+
+  private List<SpaceSummary> spaces;
+  private SecurityUtils securityUtils;
+  private SpaceService spaceService;
+
+  @Setup
+  public void setUp() {
+    spaces = BenchmarkData.summaries(cards);
+    securityUtils = new SecurityUtils();
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    WebClient webClient = WebClient.create();
+    spaceService =
+        new SpaceService(
+            webClient,
+            new SpaceCatalogCache(webClient, new CacheProperties(), meterRegistry),
+            new ErrorMetrics(meterRegistry));
+  }
+
+  @Benchmark
+  public Div buildGrid() {
+    Div grid = new Div();
+    grid.addClassName("home__topics-grid");
+    for (SpaceSummary space : spaces) {
+      grid.add(new TopicCard(space, securityUtils, spaceService));
+    }
+    return grid;
+  }
+}
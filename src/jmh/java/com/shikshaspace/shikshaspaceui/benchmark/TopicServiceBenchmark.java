@@ -0,0 +1,59 @@
+package com.shikshaspace.shikshaspaceui.benchmark;
+
+import com.shikshaspace.shikshaspaceui.models.Topic;
+import com.shikshaspace.shikshaspaceui.service.TopicService;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+public class TopicServiceBenchmark {
+
+  private static final String[] CATEGORIES = {"AI/ML", "Web Development", "Cloud", "Security"};
+
+  @Param({"6", "1000"})
+  int topics;
+
+  private TopicService topicService;
+  private long lookupId;
+
+  @Setup
+  public void setUp() {
+    List<Topic> source = new ArrayList<>(topics);
+    for (int i = 0; i < topics; i++) {
+      source.add(
+          Topic.builder()
+              .id((long) i)
+              .title("Topic " + i)
+              .author("author" + i)
+              .participantCount(i)
+              .category(CATEGORIES[i % CATEGORIES.length])
+              .isActive(i % 3 != 0)
+              .build());
+    }
+    topicService = new TopicService(() -> source);
+    lookupId = topics / 2;
+  }
+
+  @Benchmark
+  public Topic getTopicById() {
+    return topicService.getTopicById(lookupId);
+  }
+
+  @Benchmark
+  public List<Topic> getTopicsByCategory() {
+    return topicService.getTopicsByCategory("Cloud");
+  }
+
+  @Benchmark
+  public List<Topic> getActiveTopics() {
+    return topicService.getActiveTopics();
+  }
+}
@@ -0,0 +1,49 @@
+package com.shikshaspace.shikshaspaceui.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How one stub endpoint answers: a base latency plus uniform jitter, and the share of requests that
+ * fail with a 503.
+ */
+record EndpointBehaviour(Duration latency, Duration jitter, double errorRate) {
+
+  private static final Duration DEFAULT_LATENCY = Duration.ofMillis(50);
+  private static final Duration DEFAULT_JITTER = Duration.ofMillis(25);
+
+  /**
+   * {@code --<endpoint>.latency} and friends, falling back to the shared {@code --latency}, {@code
+   * --jitter} and {@code --error-rate}.
+   */
+  static EndpointBehaviour of(Options options, String endpoint) {
+    Duration latency = options.duration("latency", DEFAULT_LATENCY);
+    Duration jitter = options.duration("jitter", DEFAULT_JITTER);
+    double errorRate = options.decimal("error-rate", 0);
+    return new EndpointBehaviour(
+        options.duration(endpoint + ".latency", latency),
+        options.duration(endpoint + ".jitter", jitter),
+        options.decimal(endpoint + ".error-rate", errorRate));
+  }
+
+  /** Sleeps for this request's latency; virtual threads make that free for the stub. */
+  void delay() throws InterruptedException {
+    long jitterMillis = jitter.toMillis();
+    long millis =
+        latency.toMillis()
+            + (jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis + 1) : 0);
+    if (millis > 0) {
+      Thread.sleep(millis);
+    }
+  }
+
+  boolean fails() {
+    return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%d ms + 0-%d ms, %.1f%% errors", latency.toMillis(), jitter.toMillis(), errorRate * 100);
+  }
+}
@@ -0,0 +1,257 @@
+package com.shikshaspace.shikshaspaceui.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Simulates concurrent users of a running app, each repeating login, HomePage, join until the run
+ * ends. Every iteration is a new user with its own session:
+ *
+ * <ol>
+ *   <li>{@code login}: the OAuth2 login against the stub realm, ending on the app's bootstrap page
+ *   <li>{@code home}: UI bootstrap, navigation to the HomePage and the first cards rendered
+ *   <li>{@code join}: a click on a random card's Join button until its result is shown
+ * </ol>
+ *
+ * <p>Prints throughput and p50/p95/p99 latency per step and writes them as JSON to {@code
+ * --report-file}, so runs before and after a change can be compared.
+ *
+ * <p>Options: {@code --base-url} (http://localhost:7500), {@code --users} (50), {@code --duration}
+ * (60s), {@code --ramp-up} (10s), {@code --think-time} (500ms between steps), {@code --timeout}
+ * (15s per step), {@code --poll-interval} (50ms), {@code --registration} (keycloak).
+ */
+public final class LoadTestDriver {
+
+  private static final String JOIN = "Join";
+  private static final String JOINED_MESSAGE = "Successfully joined!";
+  private static final String JOIN_FAILED_MESSAGE = "Failed to join";
+  private static final String LOAD_FAILED_MESSAGE = "couldn't load spaces";
+
+  /** Rows of cards the HomePage's virtual list asks for on a typical screen. */
+  private static final int VISIBLE_ROWS = 4;
+
+  private final URI baseUri;
+  private final String registration;
+  private final Duration thinkTime;
+  private final Duration timeout;
+  private final Duration pollInterval;
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final StepStats login = new StepStats("login");
+  private final StepStats home = new StepStats("home");
+  private final StepStats join = new StepStats("join");
+  private final StepStats scenario = new StepStats("scenario");
+
+  private LoadTestDriver(Options options) {
+    this.baseUri = URI.create(options.string("base-url", "http://localhost:7500") + "/");
+    this.registration = options.string("registration", "keycloak");
+    this.thinkTime = options.duration("think-time", Duration.ofMillis(500));
+    this.timeout = options.duration("timeout", Duration.ofSeconds(15));
+    this.pollInterval = options.duration("poll-interval", Duration.ofMillis(50));
+  }
+
+  public static void main(String[] args) throws Exception {
+    Options options = Options.parse(args);
+    int users = options.integer("users", 50);
+    Duration duration = options.duration("duration", Duration.ofSeconds(60));
+    Duration rampUp = options.duration("ramp-up", Duration.ofSeconds(10));
+    Path reportFile = Path.of(options.string("report-file", "build/reports/loadtest/results.json"));
+
+    LoadTestDriver driver = new LoadTestDriver(options);
+    System.out.printf(
+        "%d users against %s for %ds (ramp-up %ds)%n",
+        users, driver.baseUri, duration.toSeconds(), rampUp.toSeconds());
+
+    long start = System.nanoTime();
+    long end = start + duration.toNanos();
+    List<Thread> threads = new ArrayList<>(users);
+    for (int i = 0; i < users; i++) {
+      long startAt = start + rampUp.toNanos() * i / users;
+      threads.add(Thread.ofVirtual().name("user-" + i).start(() -> driver.user(startAt, end)));
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("baseUrl", driver.baseUri.toString());
+    report.put("users", users);
+    report.put("durationSeconds", elapsedSeconds);
+    report.put(
+        "steps",
+        List.of(
+            driver.login.summary(elapsedSeconds),
+            driver.home.summary(elapsedSeconds),
+            driver.join.summary(elapsedSeconds),
+            driver.scenario.summary(elapsedSeconds)));
+    print(report);
+
+    Files.createDirectories(reportFile.toAbsolutePath().getParent());
+    driver
+        .objectMapper
+        .enable(SerializationFeature.INDENT_OUTPUT)
+        .writeValue(reportFile.toFile(), report);
+    System.out.printf("Wrote %s%n", reportFile);
+  }
+
+  /** One virtual user: scenarios back to back from {@code startAt} until {@code end}. */
+  private void user(long startAt, long end) {
+    try {
+      Thread.sleep(Duration.ofNanos(Math.max(0, startAt - System.nanoTime())));
+      while (System.nanoTime() < end) {
+        long start = System.nanoTime();
+        try {
+          runScenario();
+          scenario.success(System.nanoTime() - start);
+        } catch (IOException e) {
+          scenario.failure(e);
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void runScenario() throws IOException, InterruptedException {
+    try (HttpClient http =
+        HttpClient.newBuilder()
+            .cookieHandler(new CookieManager())
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(timeout)
+            .build()) {
+      UiConnection ui = new UiConnection(http, baseUri, objectMapper, timeout, pollInterval);
+
+      step(login, () -> login(http));
+      think();
+      List<Integer> joinButtons = step(home, () -> openHomePage(ui));
+      think();
+      int button = joinButtons.get(ThreadLocalRandom.current().nextInt(joinButtons.size()));
+      step(join, () -> join(ui, button));
+      think();
+    }
+  }
+
+  private Void login(HttpClient http) throws IOException, InterruptedException {
+    HttpResponse<Void> response =
+        http.send(
+            HttpRequest.newBuilder(baseUri.resolve("oauth2/authorization/" + registration))
+                .timeout(timeout)
+                .build(),
+            HttpResponse.BodyHandlers.discarding());
+    if (response.statusCode() != 200 || !"/".equals(response.uri().getPath())) {
+      throw new IOException(
+          "Login ended with HTTP " + response.statusCode() + " at " + response.uri());
+    }
+    return null;
+  }
+
+  /** The HomePage counts as shown once the first cards, with their Join buttons, are rendered. */
+  private List<Integer> openHomePage(UiConnection ui) throws IOException, InterruptedException {
+    ui.init("");
+    ui.navigate("");
+    ui.await(LoadTestDriver::catalogShown, timeout);
+    Optional<Integer> list = ui.findFirst("vaadin-virtual-list");
+    if (list.isPresent() && ui.find("vaadin-button", JOIN).isEmpty()) {
+      // The paged catalog renders through a virtual list, which builds only the rows the browser
+      // asks for
+      ui.callServer(list.get(), "setViewportRange", 0, VISIBLE_ROWS);
+    }
+    return ui.await(LoadTestDriver::joinButtons, timeout);
+  }
+
+  private static Optional<Boolean> catalogShown(UiConnection ui) {
+    boolean shown = joinButtons(ui).isPresent() || ui.findFirst("vaadin-virtual-list").isPresent();
+    return shown ? Optional.of(true) : Optional.empty();
+  }
+
+  private static Optional<List<Integer>> joinButtons(UiConnection ui) {
+    if (ui.contains(LOAD_FAILED_MESSAGE)) {
+      throw new IllegalStateException("HomePage could not load spaces");
+    }
+    List<Integer> buttons = ui.find("vaadin-button", JOIN);
+    return buttons.isEmpty() ? Optional.empty() : Optional.of(buttons);
+  }
+
+  /** The card shows "Joined" at once; the step ends when space-service's answer is shown. */
+  private Void join(UiConnection ui, int button) throws IOException, InterruptedException {
+    ui.click(button);
+    boolean joined =
+        ui.await(
+            connection -> {
+              if (connection.contains(JOINED_MESSAGE)) {
+                return Optional.of(true);
+              }
+              return connection.contains(JOIN_FAILED_MESSAGE)
+                  ? Optional.of(false)
+                  : Optional.empty();
+            },
+            timeout);
+    if (!joined) {
+      throw new IOException("App reported the join as failed");
+    }
+    return null;
+  }
+
+  private interface Step<T> {
+    T run() throws IOException, InterruptedException;
+  }
+
+  private static <T> T step(StepStats stats, Step<T> step)
+      throws IOException, InterruptedException {
+    long start = System.nanoTime();
+    try {
+      T result = step.run();
+      stats.success(System.nanoTime() - start);
+      return result;
+    } catch (IOException | RuntimeException e) {
+      stats.failure(e);
+      throw e instanceof IOException io ? io : new IOException(e.getMessage(), e);
+    }
+  }
+
+  private void think() throws InterruptedException {
+    if (!thinkTime.isZero()) {
+      Thread.sleep(thinkTime);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void print(Map<String, Object> report) {
+    System.out.printf(
+        "%n%-9s %8s %7s %9s %9s %9s %9s %9s%n",
+        "step", "ok", "failed", "per sec", "p50 ms", "p95 ms", "p99 ms", "max ms");
+    for (Map<String, Object> step : (List<Map<String, Object>>) report.get("steps")) {
+      System.out.printf(
+          "%-9s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+          step.get("step"),
+          step.get("ok"),
+          step.get("failed"),
+          step.get("throughput"),
+          step.get("p50"),
+          step.get("p95"),
+          step.get("p99"),
+          step.get("max"));
+    }
+    for (Map<String, Object> step : (List<Map<String, Object>>) report.get("steps")) {
+      ((Map<String, Integer>) step.get("errors"))
+          .forEach(
+              (reason, count) ->
+                  System.out.printf("  %s: %d x %s%n", step.get("step"), count, reason));
+    }
+  }
+}
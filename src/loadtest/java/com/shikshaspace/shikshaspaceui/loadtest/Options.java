@@ -0,0 +1,55 @@
+package com.shikshaspace.shikshaspaceui.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * {@code --name=value} command-line options. Durations use Boot's format, e.g. {@code 250ms} or
+ * {@code 2m}.
+ */
+final class Options {
+
+  private final Map<String, String> values;
+
+  private Options(Map<String, String> values) {
+    this.values = values;
+  }
+
+  static Options parse(String[] args) {
+    Map<String, String> values = new LinkedHashMap<>();
+    for (String arg : args) {
+      int eq = arg.indexOf('=');
+      if (!arg.startsWith("--") || eq < 0) {
+        throw new IllegalArgumentException("Expected --name=value, got " + arg);
+      }
+      values.put(arg.substring(2, eq), arg.substring(eq + 1));
+    }
+    return new Options(values);
+  }
+
+  String string(String name, String defaultValue) {
+    return values.getOrDefault(name, defaultValue);
+  }
+
+  int integer(String name, int defaultValue) {
+    String value = values.get(name);
+    return value != null ? Integer.parseInt(value) : defaultValue;
+  }
+
+  double decimal(String name, double defaultValue) {
+    String value = values.get(name);
+    return value != null ? Double.parseDouble(value) : defaultValue;
+  }
+
+  boolean bool(String name, boolean defaultValue) {
+    String value = values.get(name);
+    return value != null ? Boolean.parseBoolean(value) : defaultValue;
+  }
+
+  Duration duration(String name, Duration defaultValue) {
+    String value = values.get(name);
+    return value != null ? DurationStyle.detectAndParse(value) : defaultValue;
+  }
+}
@@ -0,0 +1,65 @@
+package com.shikshaspace.shikshaspaceui.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Latencies of one scenario step across all virtual users. Every sample is kept, so percentiles are
+ * exact. At a few thousand steps per second a run of several minutes still fits in a few MB.
+ */
+final class StepStats {
+
+  private final String name;
+  private long[] latencies = new long[1024];
+  private int count;
+  private final Map<String, Integer> errors = new TreeMap<>();
+
+  StepStats(String name) {
+    this.name = name;
+  }
+
+  synchronized void success(long nanos) {
+    if (count == latencies.length) {
+      latencies = Arrays.copyOf(latencies, count * 2);
+    }
+    latencies[count++] = nanos;
+  }
+
+  synchronized void failure(Throwable error) {
+    String reason = error.getClass().getSimpleName();
+    if (error.getMessage() != null) {
+      reason += ": " + error.getMessage().lines().findFirst().orElse("");
+    }
+    errors.merge(reason, 1, Integer::sum);
+  }
+
+  /** This step's summary; latencies in milliseconds, throughput per second of {@code elapsed}. */
+  synchronized Map<String, Object> summary(double elapsedSeconds) {
+    long[] sorted = Arrays.copyOf(latencies, count);
+    Arrays.sort(sorted);
+    int failed = errors.values().stream().mapToInt(Integer::intValue).sum();
+
+    Map<String, Object> summary = new LinkedHashMap<>();
+    summary.put("step", name);
+    summary.put("ok", count);
+    summary.put("failed", failed);
+    summary.put("throughput", count / elapsedSeconds);
+    summary.put("p50", percentile(sorted, 0.50));
+    summary.put("p95", percentile(sorted, 0.95));
+    summary.put("p99", percentile(sorted, 0.99));
+    summary.put("max", count > 0 ? sorted[count - 1] / 1e6 : 0.0);
+    summary.put("errors", new TreeMap<>(errors));
+    return summary;
+  }
+
+  /** Nearest-rank percentile, in milliseconds. */
+  private static double percentile(long[] sorted, double quantile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int rank = (int) Math.ceil(quantile * sorted.length);
+    return sorted[Math.max(rank - 1, 0)] / 1e6;
+  }
+}
@@ -0,0 +1,290 @@
+package com.shikshaspace.shikshaspaceui.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.shikshaspace.shikshaspaceui.dto.SpaceResponse;
+import com.shikshaspace.shikshaspaceui.dto.UserResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stand-in for space-service, user-service and Keycloak, so the app can be load tested on one
+ * machine without touching the real backends. Every endpoint answers after a configurable latency
+ * and fails a configurable share of requests with a 503:
+ *
+ * <ul>
+ *   <li>{@code spaces}: {@code GET /api/v1/spaces}, the whole catalog or one page of it
+ *   <li>{@code join}: {@code POST /api/v1/spaces/{id}/join}
+ *   <li>{@code joined}: {@code GET /api/v1/spaces/joined}, the spaces the token's user has joined
+ *   <li>{@code users-me}: {@code GET /api/v1/users/me}, for the user whose token was relayed
+ *   <li>{@code auth-external}: {@code POST /api/v1/auth/external}, and {@code /batch} with {@code
+ *       --batch-endpoint=true} (like user-service, it answers 404 otherwise)
+ * </ul>
+ *
+ * <p>Options: {@code --port} (9090), {@code --spaces} (catalog size, 500), {@code
+ * --description-bytes} (per space, sets the payload size, 200), {@code --latency} (50ms), {@code
+ * --jitter} (25ms), {@code --error-rate} (0), and per-endpoint overrides such as {@code
+ * --join.error-rate=0.05}. The OIDC snapshot for the app is written to {@code --snapshot-file}.
+ */
+public final class StubBackendServer implements AutoCloseable {
+
+  private static final String SPACES_PATH = "/api/v1/spaces";
+  private static final Pattern JOIN_PATH = Pattern.compile("/api/v1/spaces/([0-9a-f-]{36})/join");
+  private static final String[] CATEGORIES = {
+    "AI/ML", "Web Development", "Data Science", "Cloud", "Security"
+  };
+
+  private final ObjectMapper objectMapper =
+      new ObjectMapper()
+          .registerModule(new JavaTimeModule())
+          .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+  private final HttpServer server;
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+  private final StubRealm realm;
+  private final List<SpaceResponse> catalog;
+  private final byte[] catalogJson;
+  private final Map<UUID, SpaceResponse> spacesById = new ConcurrentHashMap<>();
+  private final Map<String, byte[]> pages = new ConcurrentHashMap<>();
+  private final Map<String, Set<UUID>> joinedByUser = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> requests = new ConcurrentHashMap<>();
+  private final Map<String, LongAdder> failures = new ConcurrentHashMap<>();
+  private final Map<String, EndpointBehaviour> behaviours = new LinkedHashMap<>();
+
+  StubBackendServer(Options options) throws Exception {
+    catalog = catalog(options.integer("spaces", 500), options.integer("description-bytes", 200));
+    catalogJson = objectMapper.writeValueAsBytes(catalog);
+    catalog.forEach(space -> spacesById.put(space.getId(), space));
+
+    server =
+        HttpServer.create(
+            new InetSocketAddress(
+                options.string("host", "127.0.0.1"), options.integer("port", 9090)),
+            1024);
+    server.setExecutor(executor);
+    realm = new StubRealm(objectMapper);
+    realm.mount(server, baseUrl());
+
+    server.createContext(SPACES_PATH, endpoint(options, "spaces", this::spaces));
+    server.createContext(SPACES_PATH + "/", endpoint(options, "join", this::join));
+    server.createContext(SPACES_PATH + "/joined", endpoint(options, "joined", this::joined));
+    server.createContext("/api/v1/users/me", endpoint(options, "users-me", this::currentUser));
+    boolean batchEndpoint = options.bool("batch-endpoint", false);
+    server.createContext(
+        "/api/v1/auth/external",
+        endpoint(
+            options,
+            "auth-external",
+            exchange -> {
+              exchange.getRequestBody().readAllBytes();
+              boolean batch = exchange.getRequestURI().getPath().endsWith("/batch");
+              json(exchange, batch && !batchEndpoint ? 404 : 200, new byte[0]);
+            }));
+    server.start();
+  }
+
+  public static void main(String[] args) throws Exception {
+    Options options = Options.parse(args);
+    StubBackendServer stub = new StubBackendServer(options);
+    Path snapshot =
+        Path.of(options.string("snapshot-file", "build/loadtest/oidc-snapshot.json"))
+            .toAbsolutePath();
+    Files.createDirectories(snapshot.getParent());
+    stub.objectMapper.writeValue(snapshot.toFile(), stub.realm.snapshot());
+
+    System.out.printf(
+        "Stub backends on %s: %d spaces, %d KB catalog%n",
+        stub.baseUrl(), stub.catalog.size(), stub.catalogJson.length / 1024);
+    stub.behaviours.forEach(
+        (name, behaviour) -> System.out.printf("  %-14s %s%n", name, behaviour));
+    System.out.printf(
+        "Start the app with:%n"
+            + "  SPACE_SERVICE_URL=%1$s USER_SERVICE_URL=%1$s KEYCLOAK_ISSUER_URI=%2$s \\%n"
+            + "  OIDC_SNAPSHOT_FILE=%3$s KEYCLOAK_UI_CLIENT_SECRET=loadtest ./gradlew bootRun%n",
+        stub.baseUrl(), stub.realm.issuer(), snapshot);
+
+    Runtime.getRuntime().addShutdownHook(new Thread(stub::close));
+    Duration interval = options.duration("report-interval", Duration.ofSeconds(10));
+    CountDownLatch stopped = new CountDownLatch(1);
+    while (!stopped.await(interval.toMillis(), TimeUnit.MILLISECONDS)) {
+      stub.report();
+    }
+  }
+
+  String baseUrl() {
+    return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+  }
+
+  /** Wraps {@code handler} with the endpoint's latency, error rate and request counters. */
+  private HttpHandler endpoint(Options options, String name, HttpHandler handler) {
+    EndpointBehaviour behaviour = EndpointBehaviour.of(options, name);
+    behaviours.put(name, behaviour);
+    LongAdder count = requests.computeIfAbsent(name, key -> new LongAdder());
+    LongAdder failed = failures.computeIfAbsent(name, key -> new LongAdder());
+    return exchange -> {
+      count.increment();
+      try {
+        behaviour.delay();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        exchange.close();
+        return;
+      }
+      if (behaviour.fails()) {
+        failed.increment();
+        json(exchange, 503, "{\"error\":\"stub failure\"}".getBytes(StandardCharsets.UTF_8));
+        return;
+      }
+      handler.handle(exchange);
+    };
+  }
+
+  private void spaces(HttpExchange exchange) throws IOException {
+    Map<String, String> query = StubRealm.form(exchange.getRequestURI().getRawQuery());
+    exchange.getResponseHeaders().add("X-Total-Count", Integer.toString(catalog.size()));
+    if (!query.containsKey("page")) {
+      json(exchange, 200, catalogJson);
+      return;
+    }
+    int page = Integer.parseInt(query.get("page"));
+    int size = Integer.parseInt(query.getOrDefault("size", "20"));
+    byte[] body =
+        pages.computeIfAbsent(
+            page + "/" + size,
+            key -> {
+              int from = Math.min(page * size, catalog.size());
+              int to = Math.min(from + size, catalog.size());
+              try {
+                return objectMapper.writeValueAsBytes(catalog.subList(from, to));
+              } catch (IOException e) {
+                throw new IllegalStateException(e);
+              }
+            });
+    json(exchange, 200, body);
+  }
+
+  private void join(HttpExchange exchange) throws IOException {
+    exchange.getRequestBody().readAllBytes();
+    Matcher path = JOIN_PATH.matcher(exchange.getRequestURI().getPath());
+    if (!path.matches() || !"POST".equals(exchange.getRequestMethod())) {
+      json(exchange, 404, new byte[0]);
+      return;
+    }
+    String username = StubRealm.username(exchange);
+    if (username != null) {
+      joinedByUser
+          .computeIfAbsent(username, key -> ConcurrentHashMap.newKeySet())
+          .add(UUID.fromString(path.group(1)));
+    }
+    json(exchange, 200, new byte[0]);
+  }
+
+  private void joined(HttpExchange exchange) throws IOException {
+    String username = StubRealm.username(exchange);
+    if (username == null) {
+      json(exchange, 401, new byte[0]);
+      return;
+    }
+    List<SpaceResponse> joined =
+        joinedByUser.getOrDefault(username, Set.of()).stream()
+            .map(spacesById::get)
+            .filter(Objects::nonNull)
+            .toList();
+    json(exchange, 200, objectMapper.writeValueAsBytes(joined));
+  }
+
+  private void currentUser(HttpExchange exchange) throws IOException {
+    String username = StubRealm.username(exchange);
+    if (username == null) {
+      json(exchange, 401, new byte[0]);
+      return;
+    }
+    UserResponse user =
+        UserResponse.builder()
+            .id(UUID.nameUUIDFromBytes(username.getBytes(StandardCharsets.UTF_8)))
+            .username(username)
+            .email(username + "@example.com")
+            .firstName("Load")
+            .lastName("Test")
+            .emailVerified(true)
+            .isActive(true)
+            .build();
+    json(exchange, 200, objectMapper.writeValueAsBytes(user));
+  }
+
+  private void report() {
+    StringBuilder line = new StringBuilder("requests");
+    requests.forEach(
+        (name, count) ->
+            line.append(
+                String.format("  %s=%d (%d failed)", name, count.sum(), failures.get(name).sum())));
+    System.out.println(line);
+  }
+
+  private static List<SpaceResponse> catalog(int count, int descriptionBytes) {
+    LocalDateTime base = LocalDateTime.now().withNano(0).plusDays(1);
+    String description = "x".repeat(descriptionBytes);
+    List<SpaceResponse> spaces = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      spaces.add(
+          SpaceResponse.builder()
+              .id(new UUID(0, i))
+              .title("Space " + i)
+              .subtitle("Subtitle for space " + i)
+              .description(description)
+              .hostUserId(new UUID(1, i % 100))
+              .hostUsername("host" + (i % 100))
+              .hostEmail("host" + (i % 100) + "@example.com")
+              .scheduledAt(base.plusHours(i))
+              .durationMinutes(60)
+              .maxParticipants(50)
+              .category(CATEGORIES[i % CATEGORIES.length])
+              .status("SCHEDULED")
+              .isPublic(true)
+              .createdAt(base)
+              .updatedAt(base)
+              .build());
+    }
+    return spaces;
+  }
+
+  static void json(HttpExchange exchange, int status, byte[] body) throws IOException {
+    if (body.length > 0) {
+      exchange.getResponseHeaders().add("Content-Type", "application/json");
+    }
+    exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(body);
+    }
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+  }
+}
@@ -0,0 +1,231 @@
+package com.shikshaspace.shikshaspaceui.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * OIDC realm standing in for Keycloak. The authorization endpoint approves every request straight
+ * away as a new user ({@code loadtest-user-1}, {@code loadtest-user-2}, ...), so each simulated
+ * login is a distinct user to the app and to the stub backends.
+ *
+ * <p>Access and refresh tokens are {@code <username>:<random>}, which lets the backends tell whose
+ * token the app relayed without keeping any state.
+ */
+final class StubRealm {
+
+  static final String REALM_PATH = "/realms/loadtest";
+  private static final String OIDC_PATH = REALM_PATH + "/protocol/openid-connect";
+  private static final long TOKEN_LIFETIME_SECONDS = 300;
+
+  private final ObjectMapper objectMapper;
+  private final RSAKey signingKey;
+  private final Map<String, Grant> grantsByCode = new ConcurrentHashMap<>();
+  private final AtomicLong users = new AtomicLong();
+  private String issuer;
+
+  private record Grant(String username, String nonce) {}
+
+  StubRealm(ObjectMapper objectMapper) throws JOSEException {
+    this.objectMapper = objectMapper;
+    this.signingKey = new RSAKeyGenerator(2048).keyID("loadtest").generate();
+  }
+
+  void mount(HttpServer server, String baseUrl) {
+    issuer = baseUrl + REALM_PATH;
+    server.createContext(
+        REALM_PATH + "/.well-known/openid-configuration",
+        exchange ->
+            StubBackendServer.json(exchange, 200, objectMapper.writeValueAsBytes(metadata())));
+    server.createContext(OIDC_PATH + "/auth", this::authorize);
+    server.createContext(OIDC_PATH + "/token", this::token);
+    server.createContext(OIDC_PATH + "/userinfo", this::userInfo);
+    server.createContext(
+        OIDC_PATH + "/certs",
+        exchange ->
+            StubBackendServer.json(
+                exchange,
+                200,
+                new JWKSet(signingKey.toPublicJWK())
+                    .toString(true)
+                    .getBytes(StandardCharsets.UTF_8)));
+  }
+
+  String issuer() {
+    return issuer;
+  }
+
+  /** Contents for the app's {@code oidc-snapshot.file}, so it boots without discovery. */
+  Map<String, Object> snapshot() {
+    String now = Instant.now().toString();
+    Map<String, Object> snapshot = new LinkedHashMap<>();
+    snapshot.put("issuer", issuer);
+    snapshot.put("metadataFetchedAt", now);
+    snapshot.put("metadata", metadata());
+    snapshot.put("jwksFetchedAt", now);
+    snapshot.put("jwks", new JWKSet(signingKey.toPublicJWK()).toJSONObject(true));
+    return snapshot;
+  }
+
+  /** The user a relayed {@code Authorization: Bearer} token belongs to, or null. */
+  static String username(HttpExchange exchange) {
+    String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+    if (authorization == null || !authorization.startsWith("Bearer ")) {
+      return null;
+    }
+    String token = authorization.substring("Bearer ".length());
+    int colon = token.indexOf(':');
+    return colon > 0 ? token.substring(0, colon) : null;
+  }
+
+  private Map<String, Object> metadata() {
+    String oidc = issuer.replace(REALM_PATH, OIDC_PATH);
+    Map<String, Object> metadata = new LinkedHashMap<>();
+    metadata.put("issuer", issuer);
+    metadata.put("authorization_endpoint", oidc + "/auth");
+    metadata.put("token_endpoint", oidc + "/token");
+    metadata.put("userinfo_endpoint", oidc + "/userinfo");
+    metadata.put("jwks_uri", oidc + "/certs");
+    metadata.put("end_session_endpoint", oidc + "/logout");
+    // Keycloak lists its symmetric algorithms too; ID tokens here are always RS256
+    metadata.put("id_token_signing_alg_values_supported", List.of("HS256", "RS256", "ES256"));
+    return metadata;
+  }
+
+  private void authorize(HttpExchange exchange) throws IOException {
+    Map<String, String> params = form(exchange.getRequestURI().getRawQuery());
+    String code = UUID.randomUUID().toString();
+    grantsByCode.put(
+        code,
+        new Grant("loadtest-user-" + users.incrementAndGet(), params.getOrDefault("nonce", "")));
+    String location =
+        params.get("redirect_uri")
+            + "?code="
+            + code
+            + "&state="
+            + URLEncoder.encode(params.get("state"), StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().add("Location", location);
+    exchange.sendResponseHeaders(302, -1);
+    exchange.close();
+  }
+
+  private void token(HttpExchange exchange) throws IOException {
+    Map<String, String> params =
+        form(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+    Map<String, Object> response = new LinkedHashMap<>();
+    String username;
+    if ("refresh_token".equals(params.get("grant_type"))) {
+      username = params.get("refresh_token").split(":", 2)[0];
+    } else {
+      Grant grant = grantsByCode.remove(params.get("code"));
+      if (grant == null) {
+        StubBackendServer.json(
+            exchange, 400, "{\"error\":\"invalid_grant\"}".getBytes(StandardCharsets.UTF_8));
+        return;
+      }
+      username = grant.username();
+      response.put("id_token", idToken(grant, clientId(exchange)));
+    }
+
+    response.put("access_token", username + ":" + UUID.randomUUID());
+    response.put("token_type", "Bearer");
+    response.put("expires_in", TOKEN_LIFETIME_SECONDS);
+    response.put("refresh_token", username + ":" + UUID.randomUUID());
+    response.put("scope", "openid profile email");
+    StubBackendServer.json(exchange, 200, objectMapper.writeValueAsBytes(response));
+  }
+
+  private void userInfo(HttpExchange exchange) throws IOException {
+    String username = username(exchange);
+    if (username == null) {
+      StubBackendServer.json(exchange, 401, "{}".getBytes(StandardCharsets.UTF_8));
+      return;
+    }
+    StubBackendServer.json(exchange, 200, objectMapper.writeValueAsBytes(claims(username)));
+  }
+
+  private String idToken(Grant grant, String clientId) throws IOException {
+    Instant now = Instant.now();
+    JWTClaimsSet.Builder claims =
+        new JWTClaimsSet.Builder()
+            .issuer(issuer)
+            .audience(clientId)
+            .issueTime(Date.from(now))
+            .expirationTime(Date.from(now.plusSeconds(TOKEN_LIFETIME_SECONDS)));
+    claims(grant.username()).forEach(claims::claim);
+    if (!grant.nonce().isEmpty()) {
+      claims.claim("nonce", grant.nonce());
+    }
+    SignedJWT idToken =
+        new SignedJWT(
+            new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(signingKey.getKeyID()).build(),
+            claims.build());
+    try {
+      idToken.sign(new RSASSASigner(signingKey));
+    } catch (JOSEException e) {
+      throw new IOException(e);
+    }
+    return idToken.serialize();
+  }
+
+  private static Map<String, Object> claims(String username) {
+    return Map.of(
+        "sub",
+        username,
+        "preferred_username",
+        username,
+        "email",
+        username + "@example.com",
+        "given_name",
+        "Load",
+        "family_name",
+        "Test");
+  }
+
+  /** The client authenticates with {@code client_secret_basic}. */
+  private static String clientId(HttpExchange exchange) {
+    String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+    String credentials =
+        new String(
+            Base64.getDecoder().decode(authorization.substring("Basic ".length())),
+            StandardCharsets.UTF_8);
+    return URLDecoder.decode(
+        credentials.substring(0, credentials.indexOf(':')), StandardCharsets.UTF_8);
+  }
+
+  static Map<String, String> form(String encoded) {
+    Map<String, String> params = new LinkedHashMap<>();
+    if (encoded == null || encoded.isEmpty()) {
+      return params;
+    }
+    for (String pair : encoded.split("&")) {
+      int eq = pair.indexOf('=');
+      params.put(
+          URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8),
+          eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+    }
+    return params;
+  }
+}
@@ -0,0 +1,295 @@
+package com.shikshaspace.shikshaspaceui.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * One browser tab's worth of Vaadin Flow client, speaking UIDL over plain HTTP. It bootstraps a UI,
+ * sends events and server calls, and mirrors the server's state tree well enough to find components
+ * by tag and text.
+ *
+ * <p>There is no push connection, so changes the server makes in {@code UI.access} (the HomePage's
+ * catalog, join results) reach this client with its next request. {@link #await} polls for them.
+ */
+final class UiConnection {
+
+  private static final String RESPONSE_PREFIX = "for(;;);";
+
+  private final HttpClient http;
+  private final URI baseUri;
+  private final ObjectMapper objectMapper;
+  private final Duration requestTimeout;
+  private final Duration pollInterval;
+
+  private final Map<Integer, UiNode> nodes = new HashMap<>();
+  private final Map<String, JsonNode> constants = new HashMap<>();
+  private String csrfToken;
+  private int uiId;
+  private int syncId = -1;
+  private int clientId;
+
+  /** What this client knows about one state node: its tag, text and child nodes. */
+  private static final class UiNode {
+    private String tag;
+    private String text;
+    private final Map<String, JsonNode> values = new HashMap<>();
+    private final Map<Integer, List<Object>> lists = new HashMap<>();
+  }
+
+  UiConnection(
+      HttpClient http,
+      URI baseUri,
+      ObjectMapper objectMapper,
+      Duration requestTimeout,
+      Duration pollInterval) {
+    this.http = http;
+    this.baseUri = baseUri;
+    this.objectMapper = objectMapper;
+    this.requestTimeout = requestTimeout;
+    this.pollInterval = pollInterval;
+  }
+
+  /** Creates the UI, as the bootstrap script does once the page has loaded. */
+  void init(String location) throws IOException, InterruptedException {
+    HttpResponse<String> response =
+        send(
+            HttpRequest.newBuilder(
+                    baseUri.resolve(
+                        "?v-r=init&location="
+                            + URLEncoder.encode(location, StandardCharsets.UTF_8)))
+                .timeout(requestTimeout)
+                .GET()
+                .build());
+    JsonNode config = objectMapper.readTree(response.body()).path("appConfig");
+    uiId = config.path("v-uiId").asInt();
+    JsonNode uidl = config.path("uidl");
+    csrfToken = uidl.path("Vaadin-Security-Key").asText();
+    apply(uidl);
+  }
+
+  /** Client-side navigation to {@code route}, which makes the server build the view. */
+  void navigate(String route) throws IOException, InterruptedException {
+    ObjectNode data = objectMapper.createObjectNode();
+    data.put("route", route);
+    data.put("query", "");
+    data.put("appShellTitle", "");
+    data.putObject("historyState").put("idx", 0);
+    data.put("trigger", "");
+    event(1, "ui-navigate", data);
+  }
+
+  /** Fires a DOM click on {@code node}, with the event data its click listener asks for. */
+  void click(int node) throws IOException, InterruptedException {
+    ObjectNode data = objectMapper.createObjectNode();
+    JsonNode listener = nodes.get(node).values.get("click");
+    if (listener != null && constants.containsKey(listener.asText())) {
+      constants
+          .get(listener.asText())
+          .fieldNames()
+          .forEachRemaining(
+              expression -> {
+                if (expression.endsWith("Key")) {
+                  data.put(expression, false);
+                } else {
+                  data.put(expression, 0);
+                }
+              });
+    }
+    event(node, "click", data);
+  }
+
+  /** Calls a {@code @ClientCallable} method on {@code node}, like {@code $server.method(...)}. */
+  void callServer(int node, String method, Object... args)
+      throws IOException, InterruptedException {
+    ObjectNode invocation = objectMapper.createObjectNode();
+    invocation.put("type", "publishedEventHandler");
+    invocation.put("node", node);
+    invocation.put("templateEventMethodName", method);
+    invocation.set("templateEventMethodArgs", objectMapper.valueToTree(args));
+    invocation.put("promise", 0);
+    rpc(invocation);
+  }
+
+  /** An empty request, which fetches whatever the server changed in the meantime. */
+  void poll() throws IOException, InterruptedException {
+    rpc();
+  }
+
+  /**
+   * Polls until {@code condition} holds, failing once {@code timeout} has passed.
+   *
+   * @return whatever {@code condition} found
+   */
+  <T> T await(Function<UiConnection, Optional<T>> condition, Duration timeout)
+      throws IOException, InterruptedException {
+    long deadline = System.nanoTime() + timeout.toNanos();
+    while (true) {
+      Optional<T> result = condition.apply(this);
+      if (result.isPresent()) {
+        return result.get();
+      }
+      if (System.nanoTime() > deadline) {
+        throw new IOException("Timed out after " + timeout.toMillis() + " ms");
+      }
+      Thread.sleep(pollInterval.toMillis());
+      poll();
+    }
+  }
+
+  /** Nodes with {@code tag} whose text, children included, is {@code text}. */
+  List<Integer> find(String tag, String text) {
+    return find(node -> tag.equals(nodes.get(node).tag) && text.equals(textContent(node)));
+  }
+
+  Optional<Integer> findFirst(String tag) {
+    return find(node -> tag.equals(nodes.get(node).tag)).stream().findFirst();
+  }
+
+  /** Whether any text or property value in the UI contains {@code text}, e.g. a notification. */
+  boolean contains(String text) {
+    return nodes.values().stream()
+        .anyMatch(
+            node ->
+                (node.text != null && node.text.contains(text))
+                    || node.values.values().stream()
+                        .anyMatch(value -> value.isTextual() && value.asText().contains(text)));
+  }
+
+  private List<Integer> find(Predicate<Integer> predicate) {
+    return nodes.keySet().stream().filter(predicate).sorted().toList();
+  }
+
+  private String textContent(int id) {
+    UiNode node = nodes.get(id);
+    if (node == null) {
+      return "";
+    }
+    if (node.text != null) {
+      return node.text;
+    }
+    StringBuilder text = new StringBuilder();
+    node.lists.values().stream()
+        .flatMap(List::stream)
+        .filter(Integer.class::isInstance)
+        .forEach(child -> text.append(textContent((Integer) child)));
+    return text.toString();
+  }
+
+  private void event(int node, String event, ObjectNode data)
+      throws IOException, InterruptedException {
+    ObjectNode invocation = objectMapper.createObjectNode();
+    invocation.put("type", "event");
+    invocation.put("node", node);
+    invocation.put("event", event);
+    invocation.set("data", data);
+    rpc(invocation);
+  }
+
+  private void rpc(JsonNode... invocations) throws IOException, InterruptedException {
+    ObjectNode body = objectMapper.createObjectNode();
+    body.put("csrfToken", csrfToken);
+    ArrayNode rpc = body.putArray("rpc");
+    for (JsonNode invocation : invocations) {
+      rpc.add(invocation);
+    }
+    body.put("syncId", syncId);
+    body.put("clientId", clientId);
+
+    HttpResponse<String> response =
+        send(
+            HttpRequest.newBuilder(baseUri.resolve("?v-r=uidl&v-uiId=" + uiId))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json; charset=UTF-8")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build());
+    String json = response.body();
+    if (!json.startsWith(RESPONSE_PREFIX)) {
+      throw new IOException("Not a UIDL response: " + abbreviate(json));
+    }
+    apply(objectMapper.readTree(json.substring(RESPONSE_PREFIX.length())).path(0));
+  }
+
+  private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+    HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+    if (response.statusCode() != 200) {
+      throw new IOException(
+          "HTTP " + response.statusCode() + " from " + request.uri().getRawQuery());
+    }
+    return response;
+  }
+
+  private void apply(JsonNode uidl) throws IOException {
+    JsonNode meta = uidl.path("meta");
+    if (meta.path("sessionExpired").asBoolean() || meta.has("appError")) {
+      throw new IOException("Server rejected the UI: " + meta);
+    }
+    if (uidl.has("syncId")) {
+      syncId = uidl.get("syncId").asInt();
+    }
+    if (uidl.has("clientId")) {
+      clientId = uidl.get("clientId").asInt();
+    }
+    uidl.path("constants").properties().forEach(e -> constants.put(e.getKey(), e.getValue()));
+    for (JsonNode change : uidl.path("changes")) {
+      applyChange(change);
+    }
+  }
+
+  private void applyChange(JsonNode change) {
+    int id = change.path("node").asInt();
+    if ("detach".equals(change.path("type").asText())) {
+      nodes.remove(id);
+      return;
+    }
+    UiNode node = nodes.computeIfAbsent(id, key -> new UiNode());
+    String key = change.path("key").asText();
+    switch (change.path("type").asText()) {
+      case "put" -> {
+        JsonNode value = change.has("nodeValue") ? change.get("nodeValue") : change.get("value");
+        node.values.put(key, value);
+        if ("tag".equals(key)) {
+          node.tag = value.asText();
+        } else if ("text".equals(key)) {
+          node.text = value.asText();
+        }
+      }
+      case "remove" -> node.values.remove(key);
+      case "splice" -> {
+        List<Object> list =
+            node.lists.computeIfAbsent(change.path("feat").asInt(), feat -> new ArrayList<>());
+        int index = Math.min(change.path("index").asInt(), list.size());
+        int removed = Math.min(change.path("remove").asInt(), list.size() - index);
+        list.subList(index, index + removed).clear();
+        List<Object> added = new ArrayList<>();
+        change.path("addNodes").forEach(child -> added.add(child.asInt()));
+        change.path("add").forEach(added::add);
+        list.addAll(index, added);
+      }
+      case "clear" -> node.lists.remove(change.path("feat").asInt());
+      default -> {
+        // attach: nothing to mirror until the node gets values
+      }
+    }
+  }
+
+  private static String abbreviate(String text) {
+    return text.length() > 200 ? text.substring(0, 200) + "..." : text;
+  }
+}
@@ -1,10 +1,12 @@
 package com.shikshaspace.shikshaspaceui;
 
 import com.vaadin.flow.component.page.AppShellConfigurator;
+import com.vaadin.flow.component.page.Push;
 import com.vaadin.flow.theme.Theme;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
+@Push
 @SpringBootApplication
 @Theme(value = "shikshaspace")
 public class ShikshaspaceUiApplication implements AppShellConfigurator {
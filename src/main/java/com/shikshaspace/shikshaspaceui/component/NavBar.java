@@ -1,8 +1,14 @@
 package com.shikshaspace.shikshaspaceui.components;
 
+import com.shikshaspace.shikshaspaceui.constants.Routes;
 import com.shikshaspace.shikshaspaceui.security.SecurityUtils;
+import com.shikshaspace.shikshaspaceui.service.SpaceService;
+import com.shikshaspace.shikshaspaceui.service.UserService;
 import com.shikshaspace.shikshaspaceui.views.auth.LoginView;
+import com.vaadin.flow.component.AttachEvent;
 import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.avatar.Avatar;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.html.Div;
@@ -10,14 +16,23 @@ import com.vaadin.flow.component.html.Hr;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
 
+@Slf4j
 public class NavBar extends HorizontalLayout {
 
   private final SecurityUtils securityUtils;
+  private final UserService userService;
+  private final SpaceService spaceService;
   private VerticalLayout dropdown;
+  private Span userEmail;
+  private transient Disposable userSubscription;
 
-  public NavBar(SecurityUtils securityUtils) {
+  public NavBar(SecurityUtils securityUtils, UserService userService, SpaceService spaceService) {
     this.securityUtils = securityUtils;
+    this.userService = userService;
+    this.spaceService = spaceService;
 
     addClassName("navbar");
     setWidthFull();
@@ -27,6 +42,32 @@ public class NavBar extends HorizontalLayout {
     add(createLogo(), createNavLinks(), createAuthSection());
   }
 
+  @Override
+  protected void onAttach(AttachEvent attachEvent) {
+    super.onAttach(attachEvent);
+    if (userEmail != null) {
+      loadUserDetails(attachEvent.getUI());
+    }
+  }
+
+  @Override
+  protected void onDetach(DetachEvent detachEvent) {
+    if (userSubscription != null) {
+      userSubscription.dispose();
+      userSubscription = null;
+    }
+    super.onDetach(detachEvent);
+  }
+
+  private void loadUserDetails(UI ui) {
+    userSubscription =
+        userService
+            .getCurrentUserAsync(securityUtils.getAuthenticatedUsername())
+            .subscribe(
+                user -> ui.access(() -> userEmail.setText(user.getEmail())),
+                error -> log.warn("Failed to load user details: {}", error.getMessage()));
+  }
+
   private Span createLogo() {
     Span logo = new Span("ShikshaSpace");
     logo.addClassName("navbar__logo");
@@ -103,8 +144,8 @@ public class NavBar extends HorizontalLayout {
     dropdown.add(
         createUserHeader(),
         createDivider(),
-        createDropdownItem("My ShikshaSpace", "my-shiksha", false),
-        createDropdownItem("Profile Edit", "profile-edit", false),
+        createDropdownItem("My ShikshaSpace", Routes.MY_SHIKSHA, false),
+        createDropdownItem("Profile Edit", Routes.PROFILE_EDIT, false),
         createDivider(),
         createDropdownItem("Logout", "", true));
 
@@ -119,7 +160,7 @@ public class NavBar extends HorizontalLayout {
     Span userName = new Span(username != null ? username : "User");
     userName.addClassName("navbar__dropdown-username");
 
-    Span userEmail = new Span("user@example.com");
+    userEmail = new Span();
     userEmail.addClassName("navbar__dropdown-email");
 
     header.add(userName, userEmail);
@@ -155,6 +196,10 @@ public class NavBar extends HorizontalLayout {
   private void toggleDropdown() {
     if (dropdown != null) {
       dropdown.setVisible(!dropdown.isVisible());
+      if (dropdown.isVisible()) {
+        // Usually loaded by the time "My ShikshaSpace" is clicked, so that page renders at once
+        spaceService.prefetchJoinedSpaces();
+      }
     }
   }
 
@@ -1,70 +1,169 @@
 package com.shikshaspace.shikshaspaceui.component;
 
-import com.shikshaspace.shikshaspaceui.dto.SpaceResponse;
+import com.shikshaspace.shikshaspaceui.dto.SpaceSummary;
 import com.shikshaspace.shikshaspaceui.security.SecurityUtils;
 import com.shikshaspace.shikshaspaceui.service.SpaceService;
 import com.shikshaspace.shikshaspaceui.views.auth.LoginView;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.notification.Notification;
 import com.vaadin.flow.component.notification.NotificationVariant;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
 
+@Slf4j
 public class TopicCard extends Div {
 
+  private static final DateTimeFormatter TIME_FORMAT =
+      DateTimeFormatter.ofPattern("EEE d MMM, h:mm a");
+
   private final SecurityUtils securityUtils;
   private final SpaceService spaceService;
-  private final SpaceResponse space;
+  private SpaceSummary space;
+
+  private final Span titleSpan;
+  private final Span subtitleSpan;
+  private final Span authorSpan;
+  private final Span timeSpan;
+  private final Button joinButton;
 
-  public TopicCard(SpaceResponse space, SecurityUtils securityUtils, SpaceService spaceService) {
+  /** Non-null while a join request is in flight; further clicks are ignored until it settles. */
+  private transient Disposable joinSubscription;
+
+  public TopicCard(SpaceSummary space, SecurityUtils securityUtils, SpaceService spaceService) {
     this.space = space;
     this.securityUtils = securityUtils;
     this.spaceService = spaceService;
 
     addClassName("topic-card");
 
-    Span titleSpan = new Span(space.getTitle());
+    titleSpan = new Span();
     titleSpan.addClassName("topic-card__title");
 
-    Span subtitleSpan = new Span(space.getSubtitle() != null ? space.getSubtitle() : "");
+    subtitleSpan = new Span();
     subtitleSpan.addClassName("topic-card__subtitle");
 
-    Span authorSpan = new Span(space.getHostUsername() != null ? space.getHostUsername() : "");
+    authorSpan = new Span();
     authorSpan.addClassName("topic-card__author");
 
-    Span timeSpan = new Span("Today 8:00 PM");
+    timeSpan = new Span();
     timeSpan.addClassName("topic-card__time");
 
-    Button joinButton = new Button("Join");
+    showSpace(space);
+
+    joinButton = new Button("Join");
     joinButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY, ButtonVariant.LUMO_SMALL);
     joinButton.addClassName("topic-card__button");
+    joinButton.setDisableOnClick(true);
     joinButton.addClickListener(e -> handleJoin());
+    showJoined(spaceService.hasJoined(space.getId()));
 
     add(titleSpan, subtitleSpan, authorSpan, timeSpan, joinButton);
   }
 
+  public UUID getSpaceId() {
+    return space.getId();
+  }
+
+  /** Re-renders the card in place with newer data for the same space. */
+  public void update(SpaceSummary space) {
+    this.space = space;
+    showSpace(space);
+  }
+
+  /**
+   * Re-reads the joined state from the session's joined spaces, e.g. once {@link
+   * SpaceService#prefetchJoinedSpaces()} has loaded them after the card was built.
+   */
+  public void refreshJoined() {
+    if (joinSubscription == null) {
+      showJoined(spaceService.hasJoined(space.getId()));
+    }
+  }
+
+  private void showSpace(SpaceSummary space) {
+    titleSpan.setText(space.getTitle());
+    subtitleSpan.setText(space.getSubtitle() != null ? space.getSubtitle() : "");
+    authorSpan.setText(space.getHostUsername() != null ? space.getHostUsername() : "");
+    timeSpan.setText(
+        space.getScheduledAt() != null ? TIME_FORMAT.format(space.getScheduledAt()) : "");
+  }
+
   private void handleJoin() {
     if (!securityUtils.isUserLoggedIn()) {
       Notification notification = Notification.show("Please login to join this space");
       notification.addThemeVariants(NotificationVariant.LUMO_PRIMARY);
       notification.setPosition(Notification.Position.TOP_CENTER);
 
+      joinButton.setEnabled(true);
       getUI().ifPresent(ui -> ui.navigate(LoginView.class));
       return;
     }
 
-    if (space.getId() != null) {
-      try {
-        spaceService.joinSpace(space.getId());
-        Notification notification = Notification.show("Successfully joined!");
-        notification.addThemeVariants(NotificationVariant.LUMO_SUCCESS);
-        notification.setPosition(Notification.Position.TOP_CENTER);
-      } catch (Exception e) {
-        Notification notification = Notification.show("Failed to join: " + e.getMessage());
-        notification.addThemeVariants(NotificationVariant.LUMO_ERROR);
-        notification.setPosition(Notification.Position.TOP_CENTER);
-      }
+    if (joinSubscription != null) {
+      return;
+    }
+    if (space.getId() == null) {
+      joinButton.setEnabled(true);
+      return;
     }
+    getUI().ifPresent(this::join);
+  }
+
+  /**
+   * Shows the card as joined straight away and sends the request off the UI thread, so the session
+   * lock is released while space-service answers. The outcome is applied under {@link UI#access}; a
+   * failure rolls the card back.
+   */
+  private void join(UI ui) {
+    UUID spaceId = space.getId();
+    String idempotencyKey = UUID.randomUUID().toString();
+    showJoined(true);
+
+    joinSubscription =
+        spaceService
+            .joinSpaceAsync(space, idempotencyKey)
+            .subscribe(
+                null,
+                error -> {
+                  log.warn("Failed to join space {}: {}", spaceId, error.getMessage());
+                  applyJoinResult(ui, false);
+                },
+                () -> applyJoinResult(ui, true));
+  }
+
+  private void applyJoinResult(UI ui, boolean joined) {
+    try {
+      ui.access(
+          () -> {
+            joinSubscription = null;
+            if (joined) {
+              notify("Successfully joined!", NotificationVariant.LUMO_SUCCESS);
+            } else {
+              showJoined(false);
+              notify("Failed to join, please try again", NotificationVariant.LUMO_ERROR);
+            }
+          });
+    } catch (UIDetachedException e) {
+      log.debug("UI closed before join of space {} completed", space.getId());
+    }
+  }
+
+  private void showJoined(boolean joined) {
+    joinButton.setText(joined ? "Joined" : "Join");
+    joinButton.setEnabled(!joined);
+    setClassName("topic-card--joined", joined);
+  }
+
+  private void notify(String message, NotificationVariant variant) {
+    Notification notification = Notification.show(message);
+    notification.addThemeVariants(variant);
+    notification.setPosition(Notification.Position.TOP_CENTER);
   }
 }
@@ -0,0 +1,38 @@
+package com.shikshaspace.shikshaspaceui.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/** Connection settings for the backend services, bound from {@code backend.*}. */
+@Data
+@ConfigurationProperties(prefix = "backend")
+public class BackendProperties {
+
+  private Client spaceService = new Client();
+  private Client userService = new Client();
+
+  /** Per-backend WebClient and Reactor Netty connection pool settings. */
+  @Data
+  public static class Client {
+
+    private String url;
+
+    private int maxConnections = 100;
+    private int pendingAcquireMaxCount = 500;
+    private Duration pendingAcquireTimeout = Duration.ofSeconds(2);
+    private Duration maxIdleTime = Duration.ofSeconds(30);
+    private Duration maxLifeTime = Duration.ofMinutes(5);
+    private Duration evictInBackground = Duration.ofSeconds(30);
+
+    private boolean keepAlive = true;
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(5);
+    private Duration writeTimeout = Duration.ofSeconds(5);
+    private Duration responseTimeout = Duration.ofSeconds(5);
+
+    private boolean compress = true;
+    private DataSize maxInMemorySize = DataSize.ofMegabytes(4);
+  }
+}
@@ -0,0 +1,36 @@
+package com.shikshaspace.shikshaspaceui.config;
+
+import java.util.concurrent.ThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Thread factory for the app's own background workers. Follows {@code
+ * spring.threads.virtual.enabled}, the same switch that moves Tomcat request handling and Spring's
+ * task executors onto virtual threads, so one property flips the whole app between modes.
+ */
+@Slf4j
+@Component
+public class BackgroundThreads {
+
+  private final boolean virtual;
+
+  public BackgroundThreads(Environment environment) {
+    this.virtual = Threading.VIRTUAL.isActive(environment);
+    log.info("Background workers use {} threads", virtual ? "virtual" : "platform");
+  }
+
+  public boolean isVirtual() {
+    return virtual;
+  }
+
+  /** Daemon platform threads, or virtual threads (always daemon) when the mode is on. */
+  public ThreadFactory factory(String name) {
+    if (virtual) {
+      return Thread.ofVirtual().name(name + "-", 0).factory();
+    }
+    return Thread.ofPlatform().name(name + "-", 0).daemon(true).factory();
+  }
+}
@@ -0,0 +1,51 @@
+package com.shikshaspace.shikshaspaceui.config;
+
+import java.io.InvalidObjectException;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Serialized form of a singleton bean held by a Vaadin component. A persisted session then carries
+ * the bean's class name instead of the bean and everything it references (WebClients, caches, meter
+ * registries), and reading it back yields the running context's bean. Beans opt in with {@code
+ * writeReplace()} returning {@link #to(Class)}.
+ */
+public record BeanReference(Class<?> type) implements Serializable {
+
+  private static final CompletableFuture<ApplicationContext> CONTEXT = new CompletableFuture<>();
+  private static final long CONTEXT_WAIT_SECONDS = 120;
+
+  public static BeanReference to(Class<?> type) {
+    return new BeanReference(type);
+  }
+
+  /** Sessions are normally read once the context is up; Tomcat's background expiry may be early. */
+  @Serial
+  private Object readResolve() throws InvalidObjectException {
+    try {
+      return CONTEXT.get(CONTEXT_WAIT_SECONDS, TimeUnit.SECONDS).getBean(type);
+    } catch (Exception e) {
+      InvalidObjectException invalid =
+          new InvalidObjectException("Cannot resolve bean " + type.getName());
+      invalid.initCause(e);
+      throw invalid;
+    }
+  }
+
+  @Component
+  static class ContextPublisher implements ApplicationListener<ContextRefreshedEvent> {
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+      if (event.getApplicationContext().getParent() == null) {
+        CONTEXT.complete(event.getApplicationContext());
+      }
+    }
+  }
+}
@@ -0,0 +1,34 @@
+package com.shikshaspace.shikshaspaceui.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** In-memory cache settings, bound from {@code cache.*}. */
+@Data
+@ConfigurationProperties(prefix = "cache")
+public class CacheProperties {
+
+  private SpaceCatalog spaceCatalog = new SpaceCatalog();
+  private CurrentUser currentUser = new CurrentUser();
+
+  /** Shared space catalog cache used by {@code SpaceService}. */
+  @Data
+  public static class SpaceCatalog {
+
+    /** Age after which an entry is served stale and revalidated in the background. */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    /** Age after which an entry is dropped and the next read waits for a full fetch. */
+    private Duration maxStale = Duration.ofMinutes(10);
+
+    private long maxEntries = 100;
+  }
+
+  /** Per-session cache of {@code /api/v1/users/me} used by {@code UserService}. */
+  @Data
+  public static class CurrentUser {
+
+    private Duration ttl = Duration.ofMinutes(5);
+  }
+}
@@ -0,0 +1,98 @@
+package com.shikshaspace.shikshaspaceui.config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * One file per session in a local directory; survives restarts of a single node.
+ *
+ * <p>Sessions hold the users' OAuth2 access and refresh tokens, so the directory holds credentials:
+ * it is created owner-only and must not be shared with other users of the host.
+ */
+public class FileSessionStore implements SessionStore {
+
+  private static final String SUFFIX = ".session";
+
+  private static final FileAttribute<?> OWNER_ONLY =
+      PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------"));
+
+  private final Path directory;
+
+  public FileSessionStore(Path directory) {
+    this.directory = directory.toAbsolutePath();
+  }
+
+  /** Written to a temporary file and moved over, so a crash never leaves half a session. */
+  @Override
+  public void save(String id, byte[] data) throws IOException {
+    Path file = file(id);
+    createDirectory();
+    // Temporary files are created owner-readable only
+    Path temp = Files.createTempFile(directory, id, ".tmp");
+    try {
+      Files.write(temp, data);
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException | RuntimeException e) {
+      try {
+        Files.deleteIfExists(temp);
+      } catch (IOException suppressed) {
+        e.addSuppressed(suppressed);
+      }
+      throw e;
+    }
+  }
+
+  @Override
+  public byte[] load(String id) throws IOException {
+    try {
+      return Files.readAllBytes(file(id));
+    } catch (NoSuchFileException e) {
+      return null;
+    }
+  }
+
+  @Override
+  public void remove(String id) throws IOException {
+    Files.deleteIfExists(file(id));
+  }
+
+  @Override
+  public List<String> ids() throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return List.of();
+    }
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .map(file -> file.getFileName().toString())
+          .filter(name -> name.endsWith(SUFFIX))
+          .map(name -> name.substring(0, name.length() - SUFFIX.length()))
+          .toList();
+    }
+  }
+
+  private void createDirectory() throws IOException {
+    if (Files.isDirectory(directory)) {
+      return;
+    }
+    if (directory.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+      Files.createDirectories(directory, OWNER_ONLY);
+    } else {
+      Files.createDirectories(directory);
+    }
+  }
+
+  private Path file(String id) {
+    // Tomcat session ids are hex plus an optional ".route"; anything else must not become a path
+    if (!id.matches("[A-Za-z0-9._-]+") || id.startsWith(".")) {
+      throw new IllegalArgumentException("Invalid session id");
+    }
+    return directory.resolve(id + SUFFIX);
+  }
+}
@@ -0,0 +1,111 @@
+package com.shikshaspace.shikshaspaceui.config;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import com.shikshaspace.shikshaspaceui.security.OidcProviderMetadataStore;
+import com.shikshaspace.shikshaspaceui.security.SnapshotClientRegistrationRepository;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.boot.autoconfigure.security.oauth2.client.OAuth2ClientProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.client.oidc.authentication.OidcIdTokenDecoderFactory;
+import org.springframework.security.oauth2.client.oidc.authentication.OidcIdTokenValidator;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.DelegatingOAuth2TokenValidator;
+import org.springframework.security.oauth2.core.converter.ClaimTypeConverter;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtDecoderFactory;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+
+/**
+ * Builds the OAuth2 client registrations and the ID token decoder from {@link
+ * OidcProviderMetadataStore} instead of live discovery, so boot never waits on the identity
+ * provider. Declaring the {@link org.springframework.security.oauth2.client.registration
+ * .ClientRegistrationRepository} here makes Spring Boot skip its own, which would call the
+ * provider's discovery endpoint for every {@code issuer-uri}.
+ */
+@Configuration
+// Boot only binds OAuth2ClientProperties when it creates the repository itself
+@EnableConfigurationProperties({OidcSnapshotProperties.class, OAuth2ClientProperties.class})
+public class OidcSnapshotConfig {
+
+  @Bean
+  public SnapshotClientRegistrationRepository clientRegistrationRepository(
+      OAuth2ClientProperties clientProperties,
+      OidcSnapshotProperties properties,
+      OidcProviderMetadataStore metadataStore) {
+    return new SnapshotClientRegistrationRepository(clientProperties, properties, metadataStore);
+  }
+
+  /** Picked up by {@code oauth2Login()} in place of the default, remote-JWK-set decoder factory. */
+  @Bean
+  public JwtDecoderFactory<ClientRegistration> idTokenDecoderFactory(
+      OidcProviderMetadataStore metadataStore) {
+    JWKSource<SecurityContext> jwkSource =
+        (selector, context) -> {
+          List<JWK> keys = selector.select(metadataStore.jwkSet());
+          // A key the snapshot doesn't know yet usually means the provider rotated its keys
+          return keys.isEmpty() ? selector.select(metadataStore.refreshJwkSet()) : keys;
+        };
+
+    // Rebuilt from the new registration, with its issuer and algorithms, once the metadata changes
+    Map<String, JwtDecoder> decoders = new ConcurrentHashMap<>();
+    metadataStore.onMetadataChange(metadata -> decoders.clear());
+    return registration ->
+        decoders.computeIfAbsent(
+            registration.getRegistrationId(), id -> idTokenDecoder(registration, jwkSource));
+  }
+
+  /**
+   * Same checks as {@link OidcIdTokenDecoderFactory}'s defaults, with keys from the snapshot and
+   * the algorithms the provider's metadata lists.
+   */
+  private JwtDecoder idTokenDecoder(
+      ClientRegistration registration, JWKSource<SecurityContext> jwkSource) {
+    DefaultJWTProcessor<SecurityContext> processor = new DefaultJWTProcessor<>();
+    processor.setJWSKeySelector(
+        new JWSVerificationKeySelector<>(signingAlgorithms(registration), jwkSource));
+    // Claims are checked by the Spring Security validators below
+    processor.setJWTClaimsSetVerifier((claims, context) -> {});
+
+    NimbusJwtDecoder decoder = new NimbusJwtDecoder(processor);
+    decoder.setJwtValidator(
+        new DelegatingOAuth2TokenValidator<>(
+            new JwtTimestampValidator(), new OidcIdTokenValidator(registration)));
+    decoder.setClaimSetConverter(
+        new ClaimTypeConverter(OidcIdTokenDecoderFactory.createDefaultClaimTypeConverters()));
+    return decoder;
+  }
+
+  /**
+   * {@code id_token_signing_alg_values_supported} from the registration's provider metadata,
+   * limited to the public-key algorithms the JWK set can verify. RS256, the OIDC default, when the
+   * metadata lists none.
+   */
+  private Set<JWSAlgorithm> signingAlgorithms(ClientRegistration registration) {
+    Object supported =
+        registration
+            .getProviderDetails()
+            .getConfigurationMetadata()
+            .get("id_token_signing_alg_values_supported");
+    Set<JWSAlgorithm> algorithms = new HashSet<>();
+    if (supported instanceof Collection<?> values) {
+      values.stream()
+          .map(value -> JWSAlgorithm.parse(String.valueOf(value)))
+          .filter(JWSAlgorithm.Family.SIGNATURE::contains)
+          .forEach(algorithms::add);
+    }
+    return algorithms.isEmpty() ? Set.of(JWSAlgorithm.RS256) : algorithms;
+  }
+}
@@ -0,0 +1,35 @@
+package com.shikshaspace.shikshaspaceui.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Local snapshot of the identity provider's OIDC metadata, bound from {@code oidc-snapshot.*}. */
+@Data
+@ConfigurationProperties(prefix = "oidc-snapshot")
+public class OidcSnapshotProperties {
+
+  /** Provider under {@code spring.security.oauth2.client.provider} whose endpoints it supplies. */
+  private String provider = "keycloak";
+
+  /** Issuer the snapshot belongs to; a snapshot saved for a different issuer is ignored. */
+  private String issuerUri;
+
+  /** Read at boot and rewritten after every successful refresh. */
+  private Path file = Path.of("config/oidc-keycloak.json");
+
+  /** Without a usable snapshot, discover once at boot and save it; when off, boot fails instead. */
+  private boolean discoverIfMissing = true;
+
+  /** Provider metadata older than this is rediscovered in the background. */
+  private Duration metadataTtl = Duration.ofHours(24);
+
+  /** A JWK set older than this is refetched in the background while its keys stay in use. */
+  private Duration jwksTtl = Duration.ofMinutes(15);
+
+  /** Minimum gap between refresh attempts, including those for tokens signed by an unknown key. */
+  private Duration refreshBackoff = Duration.ofSeconds(30);
+
+  private Duration fetchTimeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,61 @@
+package com.shikshaspace.shikshaspaceui.config;
+
+import com.vaadin.flow.server.ServiceInitEvent;
+import com.vaadin.flow.server.VaadinService;
+import com.vaadin.flow.server.VaadinServiceInitListener;
+import com.vaadin.flow.server.VaadinSession;
+import com.vaadin.flow.server.WrappedHttpSession;
+import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpSessionEvent;
+import jakarta.servlet.http.HttpSessionListener;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports Vaadin sessions that Tomcat reads back from a {@link SessionStore}. Vaadin fires no
+ * session init event for them, so anything tracking sessions through {@link
+ * VaadinService#addSessionInitListener} registers here too.
+ *
+ * <p>Tomcat announces a restored HTTP session as created. Its Vaadin session is bound to this
+ * node's {@link VaadinService} right away, as Vaadin would do on its first request, so its destroy
+ * event fires even if it expires before it is used again.
+ */
+@Component
+public class RestoredVaadinSessions implements VaadinServiceInitListener, HttpSessionListener {
+
+  private final List<Consumer<VaadinSession>> listeners = new CopyOnWriteArrayList<>();
+  private volatile VaadinService service;
+
+  /** Called on the restoring request's thread with each restored Vaadin session. */
+  public void onRestore(Consumer<VaadinSession> listener) {
+    listeners.add(listener);
+  }
+
+  @Override
+  public void serviceInit(ServiceInitEvent event) {
+    service = event.getSource();
+  }
+
+  /** A new session has no attributes yet; only a restored one can hold a Vaadin session. */
+  @Override
+  public void sessionCreated(HttpSessionEvent event) {
+    VaadinService current = service;
+    if (current == null) {
+      return;
+    }
+    HttpSession httpSession = event.getSession();
+    WrappedHttpSession wrapped = new WrappedHttpSession(httpSession);
+    Collections.list(httpSession.getAttributeNames()).stream()
+        .map(httpSession::getAttribute)
+        .filter(VaadinSession.class::isInstance)
+        .map(VaadinSession.class::cast)
+        .forEach(
+            session -> {
+              session.refreshTransients(wrapped, current);
+              listeners.forEach(listener -> listener.accept(session));
+            });
+  }
+}
@@ -3,11 +3,15 @@ package com.shikshaspace.shikshaspaceui.config;
 import com.shikshaspace.shikshaspaceui.views.auth.LoginView;
 import com.vaadin.flow.spring.security.VaadinAwareSecurityContextHolderStrategyConfiguration;
 import com.vaadin.flow.spring.security.VaadinSecurityConfigurer;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementServerProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.oauth2.client.oidc.userinfo.OidcUserService;
 import org.springframework.security.web.SecurityFilterChain;
 
@@ -16,6 +20,33 @@ import org.springframework.security.web.SecurityFilterChain;
 @Import(VaadinAwareSecurityContextHolderStrategyConfiguration.class)
 public class SecurityConfig {
 
+  /**
+   * Requests on {@code management.server.port}, where actuator is served instead of the app port.
+   * That port is meant for scrapers and probes inside the deployment, not the public ingress, so
+   * health, metrics and the session footprint sampler need no login there. Anything else on it is
+   * refused.
+   */
+  @Bean
+  @Order(1)
+  public SecurityFilterChain managementSecurityFilterChain(
+      HttpSecurity http, ManagementServerProperties management) throws Exception {
+    Integer port = management.getPort();
+    http.securityMatcher(request -> port != null && port > 0 && request.getLocalPort() == port);
+
+    http.authorizeHttpRequests(
+        auth ->
+            auth.requestMatchers(
+                    EndpointRequest.to("health", "info", "metrics", "prometheus", "vaadinsessions"))
+                .permitAll()
+                .anyRequest()
+                .denyAll());
+
+    http.sessionManagement(
+        session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS));
+    http.csrf(csrf -> csrf.disable());
+    return http.build();
+  }
+
   @Bean
   public SecurityFilterChain securityFilterChain(
       HttpSecurity http, OidcUserService customOAuth2UserService) throws Exception {
@@ -0,0 +1,19 @@
+package com.shikshaspace.shikshaspaceui.config;
+
+import java.util.function.Predicate;
+import org.springframework.web.reactive.function.client.ClientResponse;
+
+/**
+ * Counts 5xx responses as circuit breaker failures. The breaker wraps the exchange, where an error
+ * status is still a successful call; 4xx responses are the caller's fault and are not counted.
+ *
+ * <p>Referenced by class name from {@code
+ * resilience4j.circuitbreaker.configs.*.record-result-predicate}.
+ */
+public class ServerErrorResponsePredicate implements Predicate<Object> {
+
+  @Override
+  public boolean test(Object result) {
+    return result instanceof ClientResponse response && response.statusCode().is5xxServerError();
+  }
+}
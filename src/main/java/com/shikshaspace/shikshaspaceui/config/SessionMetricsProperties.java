@@ -0,0 +1,27 @@
+package com.shikshaspace.shikshaspaceui.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Per-session footprint sampling, bound from {@code session-metrics.*}. */
+@Data
+@ConfigurationProperties(prefix = "session-metrics")
+public class SessionMetricsProperties {
+
+  private boolean enabled = true;
+
+  private Duration sampleInterval = Duration.ofMinutes(1);
+
+  /** Sessions measured per sample; each one is locked briefly while it is walked. */
+  private int maxSessions = 100;
+
+  /** A session whose lock is busy for longer than this is skipped until the next sample. */
+  private Duration lockTimeout = Duration.ofMillis(50);
+
+  /**
+   * Serialize each sampled session, under its lock, to measure its size. By far the most expensive
+   * part of a sample, so it is off unless a footprint investigation needs it.
+   */
+  private boolean serializedSize = false;
+}
@@ -0,0 +1,112 @@
+package com.shikshaspace.shikshaspaceui.config;
+
+import com.shikshaspace.shikshaspaceui.security.SessionBackedAuthorizedClientRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.catalina.session.PersistentManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
+import org.springframework.security.oauth2.client.web.OAuth2AuthorizedClientRepository;
+
+/**
+ * Optional session persistence, so a node can be drained and restarted without logging its users
+ * out. With {@code session-persistence.enabled}, Tomcat's {@link PersistentManager} writes every
+ * session to the {@link SessionStore} on shutdown. A restarted node reads a session back on its
+ * first request. Sessions stay in memory while the node runs.
+ *
+ * <p>Boot stops Tomcat only after the application context is closed, too late for sessions that
+ * reference beans. {@link SessionUnloader} writes them out once the connectors are closed instead.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(SessionPersistenceProperties.class)
+public class SessionPersistenceConfig {
+
+  @Bean
+  public SessionUnloader sessionUnloader() {
+    return new SessionUnloader();
+  }
+
+  @Bean
+  public WebServerFactoryCustomizer<TomcatServletWebServerFactory> sessionPersistenceCustomizer(
+      SessionPersistenceProperties properties,
+      ObjectProvider<SessionStore> sessionStore,
+      ObjectProvider<MeterRegistry> meterRegistry,
+      SessionUnloader sessionUnloader) {
+    return factory -> {
+      if (!properties.isEnabled()) {
+        return;
+      }
+      SessionStore store =
+          sessionStore.getIfAvailable(() -> new FileSessionStore(properties.getDirectory()));
+      log.info("Persisting sessions to {}", store.getClass().getSimpleName());
+      factory.addContextCustomizers(
+          context -> {
+            PersistentManager manager = new PersistentManager();
+            manager.setStore(new TomcatSessionStore(store, meterRegistry));
+            manager.setSaveOnRestart(true);
+            if (properties.getBackupAfterIdle() != null) {
+              manager.setMaxIdleBackup((int) properties.getBackupAfterIdle().toSeconds());
+            }
+            context.setManager(manager);
+            sessionUnloader.manager = manager;
+          });
+    };
+  }
+
+  /** Replaces Boot's default so a persisted session also carries the user's tokens. */
+  @Bean
+  public OAuth2AuthorizedClientRepository authorizedClientRepository(
+      OAuth2AuthorizedClientService authorizedClientService,
+      SessionPersistenceProperties properties) {
+    return new SessionBackedAuthorizedClientRepository(
+        authorizedClientService, properties.isEnabled());
+  }
+
+  static class SessionUnloader implements SmartLifecycle {
+
+    private volatile PersistentManager manager;
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+      running = true;
+    }
+
+    @Override
+    public void stop() {
+      running = false;
+      if (manager != null) {
+        long start = System.nanoTime();
+        int sessions = manager.getActiveSessions();
+        manager.unload();
+        log.info(
+            "Persisted {} sessions in {} ms",
+            sessions,
+            Duration.ofNanos(System.nanoTime() - start).toMillis());
+      }
+    }
+
+    @Override
+    public boolean isRunning() {
+      return running;
+    }
+
+    /**
+     * Right after the web server stops taking requests (Boot stops it 1024 phases below graceful
+     * shutdown), before any other bean stops.
+     */
+    @Override
+    public int getPhase() {
+      return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1025;
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package com.shikshaspace.shikshaspaceui.config;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Persisting HTTP sessions across restarts, bound from {@code session-persistence.*}. */
+@Data
+@ConfigurationProperties(prefix = "session-persistence")
+public class SessionPersistenceProperties {
+
+  private boolean enabled = false;
+
+  /**
+   * Used by the default {@link FileSessionStore}; ignored when a {@link SessionStore} bean exists.
+   * Holds the users' OAuth2 tokens, so it must be readable by the application's user only.
+   */
+  private Path directory = Path.of("sessions");
+
+  /**
+   * Also write sessions idle for this long to the store while the node runs, so they survive a
+   * crash and not only a graceful shutdown. Unset means only shutdown writes them.
+   */
+  private Duration backupAfterIdle;
+}
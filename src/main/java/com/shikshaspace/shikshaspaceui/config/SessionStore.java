@@ -0,0 +1,20 @@
+package com.shikshaspace.shikshaspaceui.config;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Where persisted sessions live: serialized bytes by session id. {@link FileSessionStore} is the
+ * default; declaring a bean of this type (Redis, JDBC, ...) replaces it.
+ */
+public interface SessionStore {
+
+  void save(String id, byte[] data) throws IOException;
+
+  /** The saved bytes, or {@code null} if there are none. */
+  byte[] load(String id) throws IOException;
+
+  void remove(String id) throws IOException;
+
+  List<String> ids() throws IOException;
+}
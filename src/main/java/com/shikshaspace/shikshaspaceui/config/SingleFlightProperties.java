@@ -0,0 +1,21 @@
+package com.shikshaspace.shikshaspaceui.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Request coalescing settings, bound from {@code single-flight.*}. */
+@Data
+@ConfigurationProperties(prefix = "single-flight")
+public class SingleFlightProperties {
+
+  private boolean enabled = true;
+
+  /** Per-method overrides of {@link #enabled}, keyed by the name passed to {@code SingleFlight}. */
+  private Map<String, Boolean> methods = new HashMap<>();
+
+  public boolean isEnabled(String method) {
+    return methods.getOrDefault(method, enabled);
+  }
+}
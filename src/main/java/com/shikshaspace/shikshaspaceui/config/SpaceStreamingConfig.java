@@ -0,0 +1,8 @@
+package com.shikshaspace.shikshaspaceui.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(SpaceStreamingProperties.class)
+public class SpaceStreamingConfig {}
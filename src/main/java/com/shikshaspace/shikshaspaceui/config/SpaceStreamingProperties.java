@@ -0,0 +1,30 @@
+package com.shikshaspace.shikshaspaceui.config;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Progressive rendering of the home page catalog, bound from {@code space-streaming.*}. */
+@Data
+@ConfigurationProperties(prefix = "space-streaming")
+public class SpaceStreamingProperties implements Serializable {
+
+  /** Stream the whole catalog into the grid instead of paging it through a virtual list. */
+  private boolean enabled = false;
+
+  /** Cards appended and pushed to the browser per batch. */
+  private int batchSize = 12;
+
+  /** Longest a partial batch waits for more spaces before it is pushed anyway. */
+  private Duration batchDelay = Duration.ofMillis(100);
+
+  /** Streaming stops after this many cards; the rest of the response is not read. */
+  private int maxCards = 500;
+
+  @Serial
+  private Object writeReplace() {
+    return BeanReference.to(SpaceStreamingProperties.class);
+  }
+}
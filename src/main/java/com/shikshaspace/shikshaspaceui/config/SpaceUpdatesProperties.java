@@ -0,0 +1,19 @@
+package com.shikshaspace.shikshaspaceui.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Live space update settings, bound from {@code space-updates.*}. */
+@Data
+@ConfigurationProperties(prefix = "space-updates")
+public class SpaceUpdatesProperties {
+
+  private boolean enabled = true;
+
+  /** How often the catalog is revalidated against space-service while any UI is listening. */
+  private Duration pollInterval = Duration.ofSeconds(5);
+
+  /** Minimum gap between two pushes to the same UI; changes in between are merged. */
+  private Duration uiThrottle = Duration.ofSeconds(2);
+}
@@ -0,0 +1,45 @@
+package com.shikshaspace.shikshaspaceui.config;
+
+import com.vaadin.flow.server.StaticFileHandlerFactory;
+import com.vaadin.flow.server.StaticFileServer;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.regex.Pattern;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache headers for the Vaadin production bundle. Vite puts a hash of the content into the name of
+ * every file under {@code /VAADIN/build/} (the compiled theme CSS included), so a changed file
+ * always gets a new URL. Those files are sent as immutable for a year, and repeat visits never
+ * revalidate them; Vaadin's default is an hour followed by a conditional request per file.
+ *
+ * <p>Compression is not done here: the build ships {@code .br} and {@code .gz} next to each file
+ * (see {@code precompressFrontend} in build.gradle), and Vaadin picks one by {@code
+ * Accept-Encoding}, so no response is compressed on the fly.
+ */
+@Configuration
+public class StaticAssetsConfig {
+
+  static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+  /** {@code name-<8 char hash>.ext}, as Vite names chunks, entries and assets. */
+  private static final Pattern HASHED_BUILD_FILE =
+      Pattern.compile("/VAADIN/build/(?:.+/)?[^/]+-[A-Za-z0-9_-]{8}\\.[a-z0-9]+$");
+
+  /** Vaadin's Spring lookup prefers this bean over its built-in factory. */
+  @Bean
+  public StaticFileHandlerFactory staticFileHandlerFactory() {
+    return service ->
+        new StaticFileServer(service) {
+          @Override
+          protected void writeCacheHeaders(String filename, HttpServletResponse response) {
+            if (service.getDeploymentConfiguration().isProductionMode()
+                && HASHED_BUILD_FILE.matcher(filename).find()) {
+              response.setHeader("Cache-Control", IMMUTABLE);
+            } else {
+              super.writeCacheHeaders(filename, response);
+            }
+          }
+        };
+  }
+}
@@ -0,0 +1,31 @@
+package com.shikshaspace.shikshaspaceui.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Relaying the logged-in user's access token to backends, bound from {@code token-relay.*}. */
+@Data
+@ConfigurationProperties(prefix = "token-relay")
+public class TokenRelayProperties {
+
+  private boolean enabled = true;
+
+  /** A token expiring within this window is refreshed in the background while still being used. */
+  private Duration refreshAhead = Duration.ofSeconds(60);
+
+  /** Below this remaining lifetime a call waits for the refresh instead of sending the token. */
+  private Duration minValidity = Duration.ofSeconds(5);
+
+  /** How often tokens of recently active users are checked for a refresh ahead of expiry. */
+  private Duration sweepInterval = Duration.ofSeconds(15);
+
+  /** Users without a backend call for this long are no longer refreshed proactively. */
+  private Duration activeUserTtl = Duration.ofMinutes(30);
+
+  /**
+   * Client registration ({@code client_credentials}) whose token is sent on reads shared between
+   * users, such as the cached space catalog. Unset sends those reads without a token.
+   */
+  private String sharedRegistrationId;
+}
@@ -0,0 +1,157 @@
+package com.shikshaspace.shikshaspaceui.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.catalina.Context;
+import org.apache.catalina.Globals;
+import org.apache.catalina.Session;
+import org.apache.catalina.session.StandardSession;
+import org.apache.catalina.session.StoreBase;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Tomcat {@link org.apache.catalina.Store} over a {@link SessionStore}. Serializes sessions and
+ * records how long that takes and how large they are.
+ *
+ * <p>Each record starts with the session's last access time and timeout. Tomcat's periodic expiry
+ * check reads only that header, so it doesn't deserialize every stored session.
+ */
+class TomcatSessionStore extends StoreBase {
+
+  private static final int HEADER_BYTES = Long.BYTES + Integer.BYTES;
+
+  private final SessionStore store;
+  // Resolved on first use: the web server is configured before the meter registry exists
+  private final ObjectProvider<MeterRegistry> meterRegistry;
+
+  TomcatSessionStore(SessionStore store, ObjectProvider<MeterRegistry> meterRegistry) {
+    this.store = store;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public String getStoreName() {
+    return store.getClass().getSimpleName();
+  }
+
+  @Override
+  public int getSize() throws IOException {
+    return store.ids().size();
+  }
+
+  @Override
+  public String[] keys() throws IOException {
+    return store.ids().toArray(String[]::new);
+  }
+
+  @Override
+  public String[] expiredKeys() throws IOException {
+    long now = System.currentTimeMillis();
+    List<String> expired = new ArrayList<>();
+    for (String id : store.ids()) {
+      byte[] data = store.load(id);
+      if (data == null || data.length < HEADER_BYTES) {
+        continue;
+      }
+      ByteBuffer header = ByteBuffer.wrap(data, 0, HEADER_BYTES);
+      long lastAccessedTime = header.getLong();
+      int maxInactiveInterval = header.getInt();
+      if (maxInactiveInterval > 0 && now - lastAccessedTime > maxInactiveInterval * 1000L) {
+        expired.add(id);
+      }
+    }
+    return expired.toArray(String[]::new);
+  }
+
+  @Override
+  public Session load(String id) throws ClassNotFoundException, IOException {
+    byte[] data = store.load(id);
+    if (data == null) {
+      return null;
+    }
+
+    Context context = getManager().getContext();
+    ClassLoader previous = context.bind(Globals.IS_SECURITY_ENABLED, null);
+    Timer.Sample sample = Timer.start();
+    try (ObjectInputStream in =
+        getObjectInputStream(
+            new ByteArrayInputStream(data, HEADER_BYTES, data.length - HEADER_BYTES))) {
+      StandardSession session = (StandardSession) getManager().createEmptySession();
+      session.readObjectData(in);
+      session.setManager(getManager());
+      sample.stop(timer("read"));
+      return session;
+    } catch (ClassNotFoundException | IOException | RuntimeException e) {
+      failure("read", e);
+      throw e;
+    } finally {
+      context.unbind(Globals.IS_SECURITY_ENABLED, previous);
+    }
+  }
+
+  @Override
+  public void save(Session session) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(8192);
+    bytes.write(
+        ByteBuffer.allocate(HEADER_BYTES)
+            .putLong(session.getLastAccessedTimeInternal())
+            .putInt(session.getMaxInactiveInterval())
+            .array());
+
+    Timer.Sample sample = Timer.start();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      ((StandardSession) session).writeObjectData(out);
+    } catch (IOException | RuntimeException e) {
+      failure("write", e);
+      throw e;
+    }
+    sample.stop(timer("write"));
+    DistributionSummary.builder("session.persistence.size")
+        .baseUnit("bytes")
+        .description("Serialized size of persisted sessions")
+        .register(meterRegistry.getObject())
+        .record(bytes.size());
+
+    store.save(session.getIdInternal(), bytes.toByteArray());
+  }
+
+  @Override
+  public void remove(String id) throws IOException {
+    store.remove(id);
+  }
+
+  @Override
+  public void clear() throws IOException {
+    for (String id : store.ids()) {
+      store.remove(id);
+    }
+  }
+
+  private Timer timer(String operation) {
+    return Timer.builder("session.persistence.serialization")
+        .description("Time to serialize or deserialize a persisted session")
+        .tag("operation", operation)
+        .register(meterRegistry.getObject());
+  }
+
+  private void failure(String operation, Exception e) {
+    meterRegistry
+        .getObject()
+        .counter(
+            "session.persistence.failures",
+            "operation",
+            operation,
+            "exception",
+            e.getClass().getSimpleName())
+        .increment();
+  }
+}
@@ -0,0 +1,36 @@
+package com.shikshaspace.shikshaspaceui.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/** Background user-service sync settings, bound from {@code user-sync.*}. */
+@Data
+@ConfigurationProperties(prefix = "user-sync")
+public class UserSyncProperties {
+
+  private int queueCapacity = 10_000;
+  private int batchSize = 50;
+  private Duration flushInterval = Duration.ofMillis(500);
+
+  /** How long a synced user is skipped on later logins. */
+  private Duration recentlySyncedTtl = Duration.ofMinutes(15);
+
+  private long recentlySyncedMaxEntries = 100_000;
+
+  /**
+   * Send each batch to {@code POST /api/v1/auth/external/batch} instead of one {@code POST
+   * /api/v1/auth/external} per user. Only for a user-service that provides it; a 404 or 405 turns
+   * batching off again until restart.
+   */
+  private boolean batchEndpoint = false;
+
+  /** Concurrent per-user requests while a batch is sent one user at a time. */
+  private int concurrency = 8;
+
+  private int maxRetries = 3;
+  private Duration retryBackoff = Duration.ofMillis(500);
+
+  /** Times a user whose sync failed is queued again before it is dropped until their next login. */
+  private int maxRequeues = 5;
+}
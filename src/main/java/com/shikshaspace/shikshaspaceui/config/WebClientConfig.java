@@ -1,3 +1,202 @@
 package com.shikshaspace.shikshaspaceui.config;
 
-public class WebClientConfig {}
+import com.shikshaspace.shikshaspaceui.security.TokenRelayFilter;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.common.KeyValues;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ClientRequestObservationContext;
+import org.springframework.web.reactive.function.client.DefaultClientRequestObservationConvention;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * WebClients for space-service and user-service. Each backend gets its own Reactor Netty connection
+ * pool so a slow backend cannot starve the other one of connections.
+ *
+ * <p>Every exchange also goes through the backend's bulkhead and circuit breaker (configured under
+ * {@code resilience4j.*.instances.<backend>}): once a backend is clearly unhealthy, calls fail fast
+ * with {@link io.github.resilience4j.circuitbreaker.CallNotPermittedException} instead of waiting
+ * for the timeout, and half-open probes decide when to let traffic through again. The logged-in
+ * user's access token is attached by {@link TokenRelayFilter}, outside the breaker, so a token
+ * refresh never counts against a backend.
+ */
+@Configuration
+@EnableConfigurationProperties(BackendProperties.class)
+public class WebClientConfig {
+
+  private static final String READ_TIMEOUT_HANDLER = "backendReadTimeout";
+  private static final String WRITE_TIMEOUT_HANDLER = "backendWriteTimeout";
+
+  @Bean(destroyMethod = "dispose")
+  public ConnectionProvider spaceServiceConnectionProvider(BackendProperties properties) {
+    return connectionProvider("space-service", properties.getSpaceService());
+  }
+
+  @Bean(destroyMethod = "dispose")
+  public ConnectionProvider userServiceConnectionProvider(BackendProperties properties) {
+    return connectionProvider("user-service", properties.getUserService());
+  }
+
+  @Bean
+  public WebClient spaceServiceClient(
+      WebClient.Builder webClientBuilder,
+      ConnectionProvider spaceServiceConnectionProvider,
+      BackendProperties properties,
+      CircuitBreakerRegistry circuitBreakerRegistry,
+      BulkheadRegistry bulkheadRegistry,
+      TokenRelayFilter tokenRelayFilter) {
+    return webClient(
+        "space-service",
+        webClientBuilder,
+        spaceServiceConnectionProvider,
+        properties.getSpaceService(),
+        resilience(
+            circuitBreakerRegistry.circuitBreaker("space-service"),
+            bulkheadRegistry.bulkhead("space-service")),
+        tokenRelayFilter);
+  }
+
+  @Bean
+  public WebClient userServiceClient(
+      WebClient.Builder webClientBuilder,
+      ConnectionProvider userServiceConnectionProvider,
+      BackendProperties properties,
+      CircuitBreakerRegistry circuitBreakerRegistry,
+      BulkheadRegistry bulkheadRegistry,
+      TokenRelayFilter tokenRelayFilter) {
+    return webClient(
+        "user-service",
+        webClientBuilder,
+        userServiceConnectionProvider,
+        properties.getUserService(),
+        resilience(
+            circuitBreakerRegistry.circuitBreaker("user-service"),
+            bulkheadRegistry.bulkhead("user-service")),
+        tokenRelayFilter);
+  }
+
+  private ConnectionProvider connectionProvider(String name, BackendProperties.Client client) {
+    return ConnectionProvider.builder(name)
+        .maxConnections(client.getMaxConnections())
+        .pendingAcquireMaxCount(client.getPendingAcquireMaxCount())
+        .pendingAcquireTimeout(client.getPendingAcquireTimeout())
+        .maxIdleTime(client.getMaxIdleTime())
+        .maxLifeTime(client.getMaxLifeTime())
+        .evictInBackground(client.getEvictInBackground())
+        .build();
+  }
+
+  private WebClient webClient(
+      String name,
+      WebClient.Builder webClientBuilder,
+      ConnectionProvider connectionProvider,
+      BackendProperties.Client client,
+      ExchangeFilterFunction resilience,
+      TokenRelayFilter tokenRelayFilter) {
+    HttpClient httpClient =
+        HttpClient.create(connectionProvider)
+            .option(
+                ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) client.getConnectTimeout().toMillis())
+            .option(ChannelOption.SO_KEEPALIVE, client.isKeepAlive())
+            .keepAlive(client.isKeepAlive())
+            .responseTimeout(client.getResponseTimeout())
+            .compress(client.isCompress())
+            // Only while a request is sent and its response awaited: on an idle pooled connection
+            // the read timeout would close it, and on a streamed body it would cut slow chunks
+            .doOnRequest(
+                (request, connection) ->
+                    connection
+                        .addHandlerLast(
+                            READ_TIMEOUT_HANDLER,
+                            new ReadTimeoutHandler(
+                                client.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS))
+                        .addHandlerLast(
+                            WRITE_TIMEOUT_HANDLER,
+                            new WriteTimeoutHandler(
+                                client.getWriteTimeout().toMillis(), TimeUnit.MILLISECONDS)))
+            .doOnResponse(
+                (response, connection) ->
+                    connection
+                        .removeHandler(READ_TIMEOUT_HANDLER)
+                        .removeHandler(WRITE_TIMEOUT_HANDLER));
+
+    return webClientBuilder
+        .clone()
+        .baseUrl(client.getUrl())
+        .clientConnector(new ReactorClientHttpConnector(httpClient))
+        .observationConvention(new BackendObservationConvention(name))
+        .defaultRequest(tokenRelayFilter::captureAuthentication)
+        .filter(tokenRelayFilter)
+        .filter(resilience)
+        .codecs(
+            codecs ->
+                codecs.defaultCodecs().maxInMemorySize((int) client.getMaxInMemorySize().toBytes()))
+        .build();
+  }
+
+  /**
+   * The bulkhead sits inside the breaker, so a call the breaker rejects never takes a bulkhead
+   * permit. Bulkhead rejections are excluded from the failure rate via {@code ignore-exceptions}.
+   *
+   * <p>A call holds its permit until its response body is consumed or released, not just until the
+   * headers arrive, so slow and streamed bodies count against the backend's concurrency limit.
+   */
+  private ExchangeFilterFunction resilience(CircuitBreaker circuitBreaker, Bulkhead bulkhead) {
+    return (request, next) ->
+        Mono.defer(
+                () -> {
+                  if (!bulkhead.tryAcquirePermission()) {
+                    return Mono.error(BulkheadFullException.createBulkheadFullException(bulkhead));
+                  }
+                  AtomicBoolean released = new AtomicBoolean();
+                  Runnable release =
+                      () -> {
+                        if (released.compareAndSet(false, true)) {
+                          bulkhead.onComplete();
+                        }
+                      };
+                  return next.exchange(request)
+                      .map(
+                          response ->
+                              response
+                                  .mutate()
+                                  .body(body -> body.doFinally(signal -> release.run()))
+                                  .build())
+                      .doOnError(e -> release.run())
+                      .doOnCancel(release);
+                })
+            .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+  }
+
+  /** Adds a {@code service} tag to {@code http.client.requests} so backends can be told apart. */
+  private static class BackendObservationConvention
+      extends DefaultClientRequestObservationConvention {
+
+    private final String service;
+
+    BackendObservationConvention(String service) {
+      this.service = service;
+    }
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ClientRequestObservationContext context) {
+      return super.getLowCardinalityKeyValues(context).and("service", service);
+    }
+  }
+}
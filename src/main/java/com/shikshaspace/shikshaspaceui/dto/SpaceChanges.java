@@ -0,0 +1,25 @@
+package com.shikshaspace.shikshaspaceui.dto;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Value;
+
+/** Difference between two snapshots of the space catalog. */
+@Value
+@Builder
+public class SpaceChanges {
+
+  @Builder.Default List<SpaceSummary> added = List.of();
+  @Builder.Default List<SpaceSummary> updated = List.of();
+  @Builder.Default Set<UUID> removed = Set.of();
+
+  public boolean isEmpty() {
+    return added.isEmpty() && updated.isEmpty() && removed.isEmpty();
+  }
+
+  public boolean isStructural() {
+    return !added.isEmpty() || !removed.isEmpty();
+  }
+}
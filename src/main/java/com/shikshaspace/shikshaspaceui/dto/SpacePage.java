@@ -0,0 +1,17 @@
+package com.shikshaspace.shikshaspaceui.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SpacePage {
+
+  private List<SpaceSummary> content;
+  private Long totalElements;
+}
@@ -1,5 +1,6 @@
 package com.shikshaspace.shikshaspaceui.dto;
 
+import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.UUID;
 import lombok.AllArgsConstructor;
@@ -11,7 +12,7 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class SpaceResponse {
+public class SpaceResponse implements Serializable {
 
   private UUID id;
   private String title;
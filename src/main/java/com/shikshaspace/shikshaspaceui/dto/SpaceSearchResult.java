@@ -0,0 +1,16 @@
+package com.shikshaspace.shikshaspaceui.dto;
+
+import java.util.List;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Value;
+
+/** One page of Explore search hits, with category counts over every hit of the query. */
+@Value
+@Builder
+public class SpaceSearchResult {
+
+  @Builder.Default List<SpaceSummary> hits = List.of();
+  int totalHits;
+  @Builder.Default Map<String, Integer> categoryCounts = Map.of();
+}
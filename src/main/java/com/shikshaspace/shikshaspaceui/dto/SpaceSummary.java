@@ -0,0 +1,39 @@
+package com.shikshaspace.shikshaspaceui.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * The fields a {@code TopicCard} renders and Explore searches on, as returned by {@code
+ * /api/v1/spaces?view=summary}. Unknown fields are ignored, so a space-service that does not know
+ * the view still works.
+ */
+@Value
+@Builder
+@Jacksonized
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class SpaceSummary implements Serializable {
+
+  UUID id;
+  String title;
+  String subtitle;
+  String hostUsername;
+  String category;
+  LocalDateTime scheduledAt;
+
+  public static SpaceSummary from(SpaceResponse space) {
+    return SpaceSummary.builder()
+        .id(space.getId())
+        .title(space.getTitle())
+        .subtitle(space.getSubtitle())
+        .hostUsername(space.getHostUsername())
+        .category(space.getCategory())
+        .scheduledAt(space.getScheduledAt())
+        .build();
+  }
+}
@@ -0,0 +1,34 @@
+package com.shikshaspace.shikshaspaceui.metrics;
+
+import com.shikshaspace.shikshaspaceui.config.BeanReference;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.Serial;
+import java.io.Serializable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/** Counts exceptions that are caught, logged and turned into a fallback instead of rethrown. */
+@Component
+@RequiredArgsConstructor
+public class ErrorMetrics implements Serializable {
+
+  private final MeterRegistry meterRegistry;
+
+  public void swallowed(String component, String operation, Throwable error) {
+    meterRegistry
+        .counter(
+            "app.exceptions.swallowed",
+            "component",
+            component,
+            "operation",
+            operation,
+            "exception",
+            error.getClass().getSimpleName())
+        .increment();
+  }
+
+  @Serial
+  private Object writeReplace() {
+    return BeanReference.to(ErrorMetrics.class);
+  }
+}
@@ -0,0 +1,40 @@
+package com.shikshaspace.shikshaspaceui.metrics;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of one {@link SessionFootprintSampler} pass, as served by {@code
+ * /actuator/vaadinsessions}.
+ */
+public record SessionFootprint(
+    Instant sampledAt,
+    int liveSessions,
+    int sampledSessions,
+    int skippedSessions,
+    Map<String, ViewStats> views,
+    List<SessionStats> largestSessions) {
+
+  /** Aggregates over every sampled UI currently showing one view. */
+  public record ViewStats(
+      int uis,
+      long avgComponents,
+      long maxComponents,
+      long avgStateNodes,
+      long maxStateNodes,
+      long avgListenerNodes,
+      long maxListenerNodes) {}
+
+  /**
+   * One sampled session. {@code serializedBytes} is -1 when serialization was off or failed; {@code
+   * notSerializable} then names the first class that could not be serialized.
+   */
+  public record SessionStats(
+      int uis,
+      long components,
+      long stateNodes,
+      long listenerNodes,
+      long serializedBytes,
+      String notSerializable) {}
+}
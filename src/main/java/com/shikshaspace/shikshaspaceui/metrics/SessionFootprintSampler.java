@@ -0,0 +1,273 @@
+package com.shikshaspace.shikshaspaceui.metrics;
+
+import com.shikshaspace.shikshaspaceui.config.BackgroundThreads;
+import com.shikshaspace.shikshaspaceui.config.RestoredVaadinSessions;
+import com.shikshaspace.shikshaspaceui.config.SessionMetricsProperties;
+import com.shikshaspace.shikshaspaceui.metrics.SessionFootprint.SessionStats;
+import com.shikshaspace.shikshaspaceui.metrics.SessionFootprint.ViewStats;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.HasElement;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.internal.nodefeature.ElementListenerMap;
+import com.vaadin.flow.server.ServiceInitEvent;
+import com.vaadin.flow.server.VaadinServiceInitListener;
+import com.vaadin.flow.server.VaadinSession;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.NotSerializableException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.function.ToLongFunction;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodically walks live {@link VaadinSession}s to show what a session costs on this node.
+ *
+ * <p>Per UI it counts components, state tree nodes (every element, text node and feature holder the
+ * session keeps in memory) and nodes carrying DOM event listeners, tagged by the view the UI shows.
+ * Per session it optionally measures the serialized size, the closest cheap proxy for retained
+ * heap, and records which class breaks serialization. Results go to Micrometer and to {@link
+ * VaadinSessionsEndpoint}.
+ *
+ * <p>Sessions restored from a session store after a restart are sampled too. Each session is locked
+ * while it is walked, with a short {@code tryLock} so a busy session is skipped rather than waited
+ * on.
+ */
+@Slf4j
+@org.springframework.stereotype.Component
+public class SessionFootprintSampler implements VaadinServiceInitListener {
+
+  private static final int LARGEST_SESSIONS = 10;
+
+  private final SessionMetricsProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final ScheduledExecutorService scheduler;
+  private final Set<VaadinSession> sessions = ConcurrentHashMap.newKeySet();
+  private final DistributionSummary serializedSize;
+
+  private volatile SessionFootprint lastSample =
+      new SessionFootprint(Instant.EPOCH, 0, 0, 0, Map.of(), List.of());
+
+  public SessionFootprintSampler(
+      SessionMetricsProperties properties,
+      BackgroundThreads backgroundThreads,
+      RestoredVaadinSessions restoredVaadinSessions,
+      MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(backgroundThreads.factory("session-footprint"));
+    this.serializedSize =
+        DistributionSummary.builder("vaadin.session.serialized.size")
+            .baseUnit("bytes")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    restoredVaadinSessions.onRestore(sessions::add);
+  }
+
+  @Override
+  public void serviceInit(ServiceInitEvent event) {
+    event.getSource().addSessionInitListener(e -> sessions.add(e.getSession()));
+    event.getSource().addSessionDestroyListener(e -> sessions.remove(e.getSession()));
+  }
+
+  @PostConstruct
+  void start() {
+    if (properties.isEnabled()) {
+      long interval = properties.getSampleInterval().toMillis();
+      scheduler.scheduleWithFixedDelay(
+          this::sampleQuietly, interval, interval, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @PreDestroy
+  void stop() {
+    scheduler.shutdownNow();
+  }
+
+  public SessionFootprint getLastSample() {
+    return lastSample;
+  }
+
+  /** Measures up to {@code session-metrics.max-sessions} live sessions now. */
+  public synchronized SessionFootprint sample() {
+    List<VaadinSession> live = List.copyOf(sessions);
+    List<VaadinSession> selected =
+        live.subList(0, Math.min(live.size(), properties.getMaxSessions()));
+
+    Map<String, List<UiStats>> byView = new TreeMap<>();
+    List<SessionStats> measured = new ArrayList<>();
+    int skipped = 0;
+    for (VaadinSession session : selected) {
+      SessionStats stats = measure(session, byView);
+      if (stats == null) {
+        skipped++;
+      } else {
+        measured.add(stats);
+      }
+    }
+    meterRegistry.counter("vaadin.session.samples", "result", "sampled").increment(measured.size());
+    meterRegistry.counter("vaadin.session.samples", "result", "skipped").increment(skipped);
+
+    Map<String, ViewStats> views = new TreeMap<>();
+    byView.forEach((view, uis) -> views.put(view, aggregate(uis)));
+    List<SessionStats> largest =
+        measured.stream()
+            .sorted(Comparator.comparingLong(SessionStats::stateNodes).reversed())
+            .limit(LARGEST_SESSIONS)
+            .toList();
+
+    lastSample =
+        new SessionFootprint(Instant.now(), live.size(), measured.size(), skipped, views, largest);
+    return lastSample;
+  }
+
+  private void sampleQuietly() {
+    try {
+      sample();
+    } catch (RuntimeException e) {
+      log.warn("Session footprint sample failed: {}", e.getMessage());
+    }
+  }
+
+  private SessionStats measure(VaadinSession session, Map<String, List<UiStats>> byView) {
+    Lock lock = session.getLockInstance();
+    try {
+      if (lock == null
+          || !lock.tryLock(properties.getLockTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+        return null;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    }
+    try {
+      List<UiStats> uis = session.getUIs().stream().map(this::measure).toList();
+      uis.forEach(ui -> byView.computeIfAbsent(ui.view(), view -> new ArrayList<>()).add(ui));
+
+      long serializedBytes = -1;
+      String notSerializable = null;
+      if (properties.isSerializedSize()) {
+        try {
+          serializedBytes = serializedSize(session);
+          serializedSize.record(serializedBytes);
+        } catch (NotSerializableException e) {
+          notSerializable = e.getMessage();
+          meterRegistry
+              .counter("vaadin.session.serialization.failures", "type", notSerializable)
+              .increment();
+        } catch (IOException e) {
+          notSerializable = e.getClass().getSimpleName();
+          meterRegistry
+              .counter("vaadin.session.serialization.failures", "type", notSerializable)
+              .increment();
+        }
+      }
+
+      return new SessionStats(
+          uis.size(),
+          uis.stream().mapToLong(UiStats::components).sum(),
+          uis.stream().mapToLong(UiStats::stateNodes).sum(),
+          uis.stream().mapToLong(UiStats::listenerNodes).sum(),
+          serializedBytes,
+          notSerializable);
+    } finally {
+      // Not lock.unlock(): the session's unlock runs UI.access tasks queued while we held the lock
+      session.unlock();
+    }
+  }
+
+  private UiStats measure(UI ui) {
+    long[] nodes = new long[2];
+    ui.getInternals()
+        .getStateTree()
+        .getRootNode()
+        .visitNodeTree(
+            node -> {
+              nodes[0]++;
+              if (node.hasFeature(ElementListenerMap.class)
+                  && node.getFeatureIfInitialized(ElementListenerMap.class).isPresent()) {
+                nodes[1]++;
+              }
+            });
+    UiStats stats = new UiStats(viewName(ui), countComponents(ui), nodes[0], nodes[1]);
+
+    summary("vaadin.ui.components", stats.view()).record(stats.components());
+    summary("vaadin.ui.state.nodes", stats.view()).record(stats.stateNodes());
+    summary("vaadin.ui.listener.nodes", stats.view()).record(stats.listenerNodes());
+    return stats;
+  }
+
+  private String viewName(UI ui) {
+    List<HasElement> chain = ui.getInternals().getActiveRouterTargetsChain();
+    return chain.isEmpty() ? "none" : chain.get(0).getClass().getSimpleName();
+  }
+
+  private long countComponents(Component component) {
+    return 1 + component.getChildren().mapToLong(this::countComponents).sum();
+  }
+
+  private long serializedSize(VaadinSession session) throws IOException {
+    CountingOutputStream out = new CountingOutputStream();
+    try (ObjectOutputStream objects = new ObjectOutputStream(out)) {
+      objects.writeObject(session);
+    }
+    return out.count;
+  }
+
+  private DistributionSummary summary(String name, String view) {
+    return DistributionSummary.builder(name).tag("view", view).register(meterRegistry);
+  }
+
+  private ViewStats aggregate(List<UiStats> uis) {
+    LongSummaryStatistics components = stats(uis, UiStats::components);
+    LongSummaryStatistics stateNodes = stats(uis, UiStats::stateNodes);
+    LongSummaryStatistics listenerNodes = stats(uis, UiStats::listenerNodes);
+    return new ViewStats(
+        uis.size(),
+        Math.round(components.getAverage()),
+        components.getMax(),
+        Math.round(stateNodes.getAverage()),
+        stateNodes.getMax(),
+        Math.round(listenerNodes.getAverage()),
+        listenerNodes.getMax());
+  }
+
+  private LongSummaryStatistics stats(List<UiStats> uis, ToLongFunction<UiStats> field) {
+    return uis.stream().mapToLong(field).summaryStatistics();
+  }
+
+  private record UiStats(String view, long components, long stateNodes, long listenerNodes) {}
+
+  /** Discards serialized bytes, keeping only their count. */
+  private static final class CountingOutputStream extends OutputStream {
+
+    private long count;
+
+    @Override
+    public void write(int b) {
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      count += len;
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package com.shikshaspace.shikshaspaceui.metrics;
+
+import com.shikshaspace.shikshaspaceui.config.BeanReference;
+import com.shikshaspace.shikshaspaceui.config.RestoredVaadinSessions;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.server.ServiceInitEvent;
+import com.vaadin.flow.server.VaadinServiceInitListener;
+import com.vaadin.flow.server.VaadinSession;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import org.springframework.stereotype.Component;
+
+/**
+ * Gauges of live Vaadin sessions and UIs on this node, including sessions restored from a session
+ * store after a restart.
+ */
+@Component
+public class VaadinSessionMetrics implements VaadinServiceInitListener, Serializable {
+
+  private final Set<VaadinSession> sessions = ConcurrentHashMap.newKeySet();
+  private final Set<UI> uis = ConcurrentHashMap.newKeySet();
+
+  public VaadinSessionMetrics(
+      MeterRegistry meterRegistry, RestoredVaadinSessions restoredVaadinSessions) {
+    meterRegistry.gaugeCollectionSize("vaadin.sessions.active", List.of(), sessions);
+    meterRegistry.gaugeCollectionSize("vaadin.uis.active", List.of(), uis);
+    restoredVaadinSessions.onRestore(this::restored);
+  }
+
+  @Override
+  public void serviceInit(ServiceInitEvent event) {
+    event.getSource().addSessionInitListener(e -> sessions.add(e.getSession()));
+    event.getSource().addSessionDestroyListener(e -> sessions.remove(e.getSession()));
+    event
+        .getSource()
+        .addUIInitListener(
+            e -> {
+              uis.add(e.getUI());
+              // Serialized with the UI; this bean is written as a BeanReference, so a restored UI
+              // still removes itself from the running node's gauge
+              e.getUI().addDetachListener(detach -> uis.remove(detach.getUI()));
+            });
+  }
+
+  /** Its UIs already carry the detach listener added when they were created. */
+  private void restored(VaadinSession session) {
+    sessions.add(session);
+    Lock lock = session.getLockInstance();
+    if (lock == null) {
+      return;
+    }
+    lock.lock();
+    try {
+      uis.addAll(session.getUIs());
+    } finally {
+      session.unlock();
+    }
+  }
+
+  @Serial
+  private Object writeReplace() {
+    return BeanReference.to(VaadinSessionMetrics.class);
+  }
+}
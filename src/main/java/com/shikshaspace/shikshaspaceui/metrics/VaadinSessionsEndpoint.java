@@ -0,0 +1,30 @@
+package com.shikshaspace.shikshaspaceui.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/vaadinsessions}, on the management port only (see {@link
+ * com.shikshaspace.shikshaspaceui.config.SecurityConfig}): the latest per-session footprint sample.
+ * A POST takes a fresh sample right away.
+ */
+@Component
+@Endpoint(id = "vaadinsessions")
+@RequiredArgsConstructor
+public class VaadinSessionsEndpoint {
+
+  private final SessionFootprintSampler sampler;
+
+  @ReadOperation
+  public SessionFootprint footprint() {
+    return sampler.getLastSample();
+  }
+
+  @WriteOperation
+  public SessionFootprint sample() {
+    return sampler.sample();
+  }
+}
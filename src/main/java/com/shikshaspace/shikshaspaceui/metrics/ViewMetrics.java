@@ -0,0 +1,44 @@
+package com.shikshaspace.shikshaspaceui.metrics;
+
+import com.shikshaspace.shikshaspaceui.config.BeanReference;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/** Times server-side construction of views and components ({@code ui.component.build}). */
+@Component
+@RequiredArgsConstructor
+public class ViewMetrics implements Serializable {
+
+  private static final String BUILD_TIMER = "ui.component.build";
+
+  private final MeterRegistry meterRegistry;
+
+  public Timer.Sample start() {
+    return Timer.start(meterRegistry);
+  }
+
+  public void stop(Timer.Sample sample, String component) {
+    sample.stop(timer(component));
+  }
+
+  public <T> T time(String component, Supplier<T> builder) {
+    return timer(component).record(builder);
+  }
+
+  private Timer timer(String component) {
+    return Timer.builder(BUILD_TIMER)
+        .tag("component", component)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+
+  @Serial
+  private Object writeReplace() {
+    return BeanReference.to(ViewMetrics.class);
+  }
+}
@@ -0,0 +1,232 @@
+package com.shikshaspace.shikshaspaceui.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shikshaspace.shikshaspaceui.config.BackgroundThreads;
+import com.shikshaspace.shikshaspaceui.config.TokenRelayProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.oauth2.client.AuthorizedClientServiceOAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientProviderBuilder;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Hands out the logged-in user's access token for backend calls without making them wait on
+ * Keycloak.
+ *
+ * <p>Tokens come from the {@link OAuth2AuthorizedClientService} the login stored them in. A token
+ * with more than {@code token-relay.refresh-ahead} left is used as is; one inside that window is
+ * still used while a background refresh replaces it; only a token with less than {@code
+ * token-relay.min-validity} left makes the call wait. A periodic sweep refreshes tokens of recently
+ * active users ahead of expiry, so the last case is rare. Concurrent refreshes for one user are
+ * merged into a single token endpoint call.
+ *
+ * <p>Reads shared between users get the application's own {@code client_credentials} token from
+ * {@link #serviceToken()} instead.
+ */
+@Slf4j
+@Component
+public class AccessTokenManager {
+
+  private final TokenRelayProperties properties;
+  private final OAuth2AuthorizedClientService authorizedClientService;
+  private final AuthorizedClientServiceOAuth2AuthorizedClientManager authorizedClientManager;
+  private final AuthorizedClientServiceOAuth2AuthorizedClientManager serviceClientManager;
+  private final MeterRegistry meterRegistry;
+  private final ScheduledExecutorService scheduler;
+
+  private final Cache<Key, OAuth2AuthenticationToken> activeUsers;
+  private final Map<Key, Mono<OAuth2AuthorizedClient>> refreshes = new ConcurrentHashMap<>();
+
+  public AccessTokenManager(
+      TokenRelayProperties properties,
+      ClientRegistrationRepository clientRegistrationRepository,
+      OAuth2AuthorizedClientService authorizedClientService,
+      BackgroundThreads backgroundThreads,
+      MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.authorizedClientService = authorizedClientService;
+    this.meterRegistry = meterRegistry;
+
+    // The provider only refreshes inside its clock skew, so align that with our refresh window
+    this.authorizedClientManager =
+        new AuthorizedClientServiceOAuth2AuthorizedClientManager(
+            clientRegistrationRepository, authorizedClientService);
+    this.authorizedClientManager.setAuthorizedClientProvider(
+        OAuth2AuthorizedClientProviderBuilder.builder()
+            .refreshToken(refresh -> refresh.clockSkew(properties.getRefreshAhead()))
+            .build());
+    this.serviceClientManager =
+        new AuthorizedClientServiceOAuth2AuthorizedClientManager(
+            clientRegistrationRepository, authorizedClientService);
+    this.serviceClientManager.setAuthorizedClientProvider(
+        OAuth2AuthorizedClientProviderBuilder.builder()
+            .clientCredentials(credentials -> credentials.clockSkew(properties.getRefreshAhead()))
+            .build());
+
+    this.activeUsers =
+        Caffeine.newBuilder().expireAfterAccess(properties.getActiveUserTtl()).build();
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(backgroundThreads.factory("token-refresh"));
+    meterRegistry.gaugeMapSize("token.relay.refreshes.in.flight", List.of(), refreshes);
+  }
+
+  @PostConstruct
+  void start() {
+    if (properties.isEnabled()) {
+      long interval = properties.getSweepInterval().toMillis();
+      scheduler.scheduleWithFixedDelay(this::sweep, interval, interval, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @PreDestroy
+  void stop() {
+    scheduler.shutdownNow();
+  }
+
+  /** The bearer token to send for {@code authentication}, or empty if it has none. */
+  public Mono<String> accessToken(OAuth2AuthenticationToken authentication) {
+    Key key = Key.of(authentication);
+    activeUsers.put(key, authentication);
+
+    OAuth2AuthorizedClient client =
+        authorizedClientService.loadAuthorizedClient(key.registrationId(), key.principalName());
+    if (client == null) {
+      record("none");
+      return Mono.empty();
+    }
+
+    OAuth2AccessToken token = client.getAccessToken();
+    Duration remaining = remaining(token);
+    if (remaining.compareTo(properties.getRefreshAhead()) > 0) {
+      record("cached");
+      return Mono.just(token.getTokenValue());
+    }
+    if (remaining.compareTo(properties.getMinValidity()) > 0) {
+      record("refreshing");
+      refreshInBackground(key, authentication);
+      return Mono.just(token.getTokenValue());
+    }
+    record("waited");
+    return refresh(key, authentication)
+        .map(refreshed -> refreshed.getAccessToken().getTokenValue())
+        .onErrorResume(e -> Mono.empty());
+  }
+
+  /**
+   * The {@code client_credentials} token of {@code token-relay.shared-registration-id}, or empty if
+   * none is configured or Keycloak cannot issue one. It is kept in the {@link
+   * OAuth2AuthorizedClientService} and fetched again once it is within {@code refresh-ahead} of
+   * expiry.
+   */
+  public Mono<String> serviceToken() {
+    String registrationId = properties.getSharedRegistrationId();
+    if (registrationId == null) {
+      return Mono.empty();
+    }
+    return Mono.fromCallable(
+            () ->
+                serviceClientManager.authorize(
+                    OAuth2AuthorizeRequest.withClientRegistrationId(registrationId)
+                        .principal(registrationId)
+                        .build()))
+        .subscribeOn(Schedulers.boundedElastic())
+        .map(client -> client.getAccessToken().getTokenValue())
+        .doOnSuccess(ignored -> record("service"))
+        .onErrorResume(
+            e -> {
+              log.warn("Service token for {} failed: {}", registrationId, e.getMessage());
+              record("none");
+              return Mono.empty();
+            });
+  }
+
+  private void sweep() {
+    activeUsers
+        .asMap()
+        .forEach(
+            (key, authentication) -> {
+              OAuth2AuthorizedClient client =
+                  authorizedClientService.loadAuthorizedClient(
+                      key.registrationId(), key.principalName());
+              if (client == null) {
+                activeUsers.invalidate(key);
+              } else if (remaining(client.getAccessToken()).compareTo(properties.getRefreshAhead())
+                  <= 0) {
+                refreshInBackground(key, authentication);
+              }
+            });
+  }
+
+  private void refreshInBackground(Key key, OAuth2AuthenticationToken authentication) {
+    refresh(key, authentication).subscribe(ignored -> {}, e -> {});
+  }
+
+  /** Refreshes through the token endpoint, or joins the refresh already running for the user. */
+  private Mono<OAuth2AuthorizedClient> refresh(Key key, OAuth2AuthenticationToken authentication) {
+    return refreshes.computeIfAbsent(
+        key,
+        k ->
+            Mono.fromCallable(() -> authorize(k, authentication))
+                .subscribeOn(Schedulers.boundedElastic())
+                .doOnSuccess(ignored -> recordRefresh("success"))
+                .doOnError(
+                    e -> {
+                      recordRefresh("failure");
+                      log.warn(
+                          "Token refresh for {} failed: {}", k.principalName(), e.getMessage());
+                    })
+                .doFinally(signal -> refreshes.remove(k))
+                .cache());
+  }
+
+  private OAuth2AuthorizedClient authorize(Key key, OAuth2AuthenticationToken authentication) {
+    OAuth2AuthorizedClient client =
+        authorizedClientManager.authorize(
+            OAuth2AuthorizeRequest.withClientRegistrationId(key.registrationId())
+                .principal(authentication)
+                .build());
+    if (client == null) {
+      throw new IllegalStateException("No authorized client for " + key.principalName());
+    }
+    return client;
+  }
+
+  private Duration remaining(OAuth2AccessToken token) {
+    Instant expiresAt = token.getExpiresAt();
+    return expiresAt == null ? Duration.ofDays(1) : Duration.between(Instant.now(), expiresAt);
+  }
+
+  private void record(String result) {
+    meterRegistry.counter("token.relay.requests", "result", result).increment();
+  }
+
+  private void recordRefresh(String result) {
+    meterRegistry.counter("token.relay.refreshes", "result", result).increment();
+  }
+
+  private record Key(String registrationId, String principalName) {
+
+    static Key of(OAuth2AuthenticationToken authentication) {
+      return new Key(authentication.getAuthorizedClientRegistrationId(), authentication.getName());
+    }
+  }
+}
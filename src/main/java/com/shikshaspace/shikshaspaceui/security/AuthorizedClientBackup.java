@@ -0,0 +1,58 @@
+package com.shikshaspace.shikshaspaceui.security;
+
+import jakarta.servlet.http.HttpSessionActivationListener;
+import jakarta.servlet.http.HttpSessionEvent;
+import java.io.Serial;
+import java.io.Serializable;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
+import org.springframework.web.context.support.WebApplicationContextUtils;
+
+/**
+ * Session attribute carrying a copy of the user's authorized client through session persistence.
+ * Before the session is written it picks up the latest tokens from the service, which may have been
+ * refreshed since login. When the session is read back it hands them to the service again.
+ */
+@Slf4j
+final class AuthorizedClientBackup implements HttpSessionActivationListener, Serializable {
+
+  @Serial private static final long serialVersionUID = 1L;
+
+  private OAuth2AuthorizedClient authorizedClient;
+  private final Authentication principal;
+
+  AuthorizedClientBackup(OAuth2AuthorizedClient authorizedClient, Authentication principal) {
+    this.authorizedClient = authorizedClient;
+    this.principal = principal;
+  }
+
+  @Override
+  public void sessionWillPassivate(HttpSessionEvent event) {
+    OAuth2AuthorizedClient current =
+        service(event).loadAuthorizedClient(registrationId(), principal.getName());
+    if (current != null) {
+      authorizedClient = current;
+    }
+  }
+
+  @Override
+  public void sessionDidActivate(HttpSessionEvent event) {
+    OAuth2AuthorizedClientService service = service(event);
+    if (service.loadAuthorizedClient(registrationId(), principal.getName()) == null) {
+      service.saveAuthorizedClient(authorizedClient, principal);
+      log.debug("Restored {} tokens for {}", registrationId(), principal.getName());
+    }
+  }
+
+  private String registrationId() {
+    return authorizedClient.getClientRegistration().getRegistrationId();
+  }
+
+  private static OAuth2AuthorizedClientService service(HttpSessionEvent event) {
+    return WebApplicationContextUtils.getRequiredWebApplicationContext(
+            event.getSession().getServletContext())
+        .getBean(OAuth2AuthorizedClientService.class);
+  }
+}
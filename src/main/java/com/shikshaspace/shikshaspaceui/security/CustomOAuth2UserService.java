@@ -1,7 +1,7 @@
 package com.shikshaspace.shikshaspaceui.security;
 
 import com.shikshaspace.shikshaspaceui.dto.ExternalAuthRequest;
-import com.shikshaspace.shikshaspaceui.service.UserService;
+import com.shikshaspace.shikshaspaceui.service.UserSyncService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.oauth2.client.oidc.userinfo.OidcUserRequest;
@@ -15,7 +15,7 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class CustomOAuth2UserService extends OidcUserService {
 
-  private final UserService userService;
+  private final UserSyncService userSyncService;
 
   @Override
   public OidcUser loadUser(OidcUserRequest userRequest) throws OAuth2AuthenticationException {
@@ -37,12 +37,7 @@ public class CustomOAuth2UserService extends OidcUserService {
             .provider(provider)
             .build();
 
-    try {
-      userService.registerExternalUser(request);
-      log.info("User registered/synced: {}", email);
-    } catch (Exception e) {
-      log.error("Failed to register external user", e);
-    }
+    userSyncService.submit(request);
 
     return oidcUser;
   }
@@ -0,0 +1,306 @@
+package com.shikshaspace.shikshaspaceui.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.shikshaspace.shikshaspaceui.config.BackgroundThreads;
+import com.shikshaspace.shikshaspaceui.config.OidcSnapshotProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+/**
+ * The identity provider's OIDC metadata and JWK set, served from a local snapshot file.
+ *
+ * <p>Boot reads {@code oidc-snapshot.file} and never talks to the provider when it holds a snapshot
+ * for the configured issuer; only without one does it discover once and save the result (unless
+ * {@code oidc-snapshot.discover-if-missing} is off). After that, refreshes are lazy: reading
+ * metadata or keys older than their TTL starts a background refresh and returns what is already
+ * there. The one blocking fetch is for an ID token signed by a key the snapshot doesn't have yet,
+ * which is how a key rotation shows up; it is rate-limited by {@code
+ * oidc-snapshot.refresh-backoff}.
+ */
+@Slf4j
+@Component
+public class OidcProviderMetadataStore {
+
+  private static final String DISCOVERY_PATH = "/.well-known/openid-configuration";
+  private static final ParameterizedTypeReference<Map<String, Object>> JSON_OBJECT =
+      new ParameterizedTypeReference<>() {};
+
+  private final OidcSnapshotProperties properties;
+  private final ObjectMapper objectMapper;
+  private final WebClient webClient;
+  private final MeterRegistry meterRegistry;
+  private final ExecutorService refresher;
+
+  private final List<Consumer<Map<String, Object>>> metadataListeners =
+      new CopyOnWriteArrayList<>();
+  private final AtomicBoolean refreshing = new AtomicBoolean();
+  private final ReentrantLock refreshLock = new ReentrantLock();
+  private volatile Instant lastAttempt = Instant.EPOCH;
+  private volatile Snapshot snapshot;
+
+  public OidcProviderMetadataStore(
+      OidcSnapshotProperties properties,
+      ObjectMapper objectMapper,
+      WebClient.Builder webClientBuilder,
+      BackgroundThreads backgroundThreads,
+      MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.objectMapper = objectMapper;
+    this.webClient = webClientBuilder.clone().build();
+    this.meterRegistry = meterRegistry;
+    this.refresher = Executors.newSingleThreadExecutor(backgroundThreads.factory("oidc-refresh"));
+    this.snapshot = load();
+    meterRegistry.gauge(
+        "oidc.snapshot.jwks.age",
+        this,
+        store -> Duration.between(store.snapshot.jwksFetchedAt(), Instant.now()).toSeconds());
+    if (isStale(snapshot.metadataFetchedAt(), properties.getMetadataTtl())
+        || isStale(snapshot.jwksFetchedAt(), properties.getJwksTtl())) {
+      refreshInBackground();
+    }
+  }
+
+  @PreDestroy
+  void stop() {
+    refresher.shutdownNow();
+  }
+
+  public String issuer() {
+    return snapshot.issuer();
+  }
+
+  /** The provider's discovery document. */
+  public Map<String, Object> metadata() {
+    Snapshot current = snapshot;
+    if (isStale(current.metadataFetchedAt(), properties.getMetadataTtl())) {
+      refreshInBackground();
+    }
+    return current.metadata();
+  }
+
+  public JWKSet jwkSet() {
+    Snapshot current = snapshot;
+    if (isStale(current.jwksFetchedAt(), properties.getJwksTtl())) {
+      refreshInBackground();
+    }
+    return current.jwks();
+  }
+
+  /** Refetches the JWK set now, unless an attempt was made within the backoff. */
+  public JWKSet refreshJwkSet() {
+    if (backingOff()) {
+      return snapshot.jwks();
+    }
+    // A lock rather than synchronized, so a virtual thread waiting here doesn't pin its carrier
+    refreshLock.lock();
+    try {
+      if (!backingOff()) {
+        refresh(false);
+      }
+    } finally {
+      refreshLock.unlock();
+    }
+    return snapshot.jwks();
+  }
+
+  /** Called on the refresh thread with the new document whenever rediscovery changes it. */
+  public void onMetadataChange(Consumer<Map<String, Object>> listener) {
+    metadataListeners.add(listener);
+  }
+
+  private void refreshInBackground() {
+    if (backingOff() || !refreshing.compareAndSet(false, true)) {
+      return;
+    }
+    refresher.execute(
+        () -> {
+          refreshLock.lock();
+          try {
+            refresh(isStale(snapshot.metadataFetchedAt(), properties.getMetadataTtl()));
+          } finally {
+            refreshLock.unlock();
+            refreshing.set(false);
+          }
+        });
+  }
+
+  /** Fetches the JWK set, and the metadata too if asked; failures keep the current snapshot. */
+  private void refresh(boolean withMetadata) {
+    lastAttempt = Instant.now();
+    Snapshot current = snapshot;
+    Map<String, Object> metadata = current.metadata();
+    Instant metadataFetchedAt = current.metadataFetchedAt();
+    if (withMetadata) {
+      try {
+        metadata = discover(current.issuer());
+        metadataFetchedAt = Instant.now();
+        record("metadata", "success");
+      } catch (RuntimeException e) {
+        record("metadata", "failure");
+        log.warn("OIDC metadata refresh for {} failed: {}", current.issuer(), e.getMessage());
+      }
+    }
+
+    JWKSet jwks = current.jwks();
+    Instant jwksFetchedAt = current.jwksFetchedAt();
+    try {
+      jwks = fetchJwks(metadata);
+      jwksFetchedAt = Instant.now();
+      record("jwks", "success");
+    } catch (RuntimeException e) {
+      record("jwks", "failure");
+      log.warn("JWK set refresh for {} failed: {}", current.issuer(), e.getMessage());
+    }
+
+    Snapshot refreshed =
+        new Snapshot(current.issuer(), metadata, metadataFetchedAt, jwks, jwksFetchedAt);
+    if (refreshed.equals(current)) {
+      return;
+    }
+    snapshot = refreshed;
+    save(refreshed);
+    if (!metadata.equals(current.metadata())) {
+      log.info("OIDC metadata for {} changed", current.issuer());
+      metadataListeners.forEach(listener -> listener.accept(refreshed.metadata()));
+    }
+  }
+
+  private Snapshot load() {
+    String issuer = properties.getIssuerUri();
+    if (issuer == null || issuer.isBlank()) {
+      throw new IllegalStateException("oidc-snapshot.issuer-uri is not set");
+    }
+
+    Path file = properties.getFile();
+    if (Files.isReadable(file)) {
+      try {
+        Snapshot saved = read(file);
+        if (saved.issuer().equals(issuer)) {
+          log.info(
+              "Loaded OIDC snapshot for {} from {} (keys fetched {})",
+              issuer,
+              file,
+              saved.jwksFetchedAt());
+          return saved;
+        }
+        log.warn("Ignoring OIDC snapshot {}: it belongs to {}", file, saved.issuer());
+      } catch (IOException | RuntimeException | ParseException e) {
+        log.warn("Ignoring unreadable OIDC snapshot {}: {}", file, e.getMessage());
+      }
+    }
+
+    if (!properties.isDiscoverIfMissing()) {
+      throw new IllegalStateException(
+          "No OIDC snapshot for " + issuer + " at " + file.toAbsolutePath());
+    }
+    log.info("No OIDC snapshot for {}, discovering it once", issuer);
+    lastAttempt = Instant.now();
+    Map<String, Object> metadata = discover(issuer);
+    Snapshot discovered =
+        new Snapshot(issuer, metadata, Instant.now(), fetchJwks(metadata), Instant.now());
+    save(discovered);
+    return discovered;
+  }
+
+  private Map<String, Object> discover(String issuer) {
+    Map<String, Object> metadata = fetch(issuer + DISCOVERY_PATH);
+    // Same check as Spring Security's own discovery
+    if (!issuer.equals(metadata.get("issuer"))) {
+      throw new IllegalStateException(
+          "Discovery for " + issuer + " returned issuer " + metadata.get("issuer"));
+    }
+    return metadata;
+  }
+
+  private JWKSet fetchJwks(Map<String, Object> metadata) {
+    try {
+      return JWKSet.parse(fetch((String) metadata.get("jwks_uri")));
+    } catch (ParseException e) {
+      throw new IllegalStateException("Invalid JWK set: " + e.getMessage(), e);
+    }
+  }
+
+  private Map<String, Object> fetch(String uri) {
+    return webClient
+        .get()
+        .uri(URI.create(uri))
+        .accept(MediaType.APPLICATION_JSON)
+        .retrieve()
+        .bodyToMono(JSON_OBJECT)
+        .block(properties.getFetchTimeout());
+  }
+
+  @SuppressWarnings("unchecked")
+  private Snapshot read(Path file) throws IOException, ParseException {
+    Map<String, Object> json = objectMapper.readValue(file.toFile(), Map.class);
+    return new Snapshot(
+        (String) json.get("issuer"),
+        (Map<String, Object>) json.get("metadata"),
+        Instant.parse((String) json.get("metadataFetchedAt")),
+        JWKSet.parse((Map<String, Object>) json.get("jwks")),
+        Instant.parse((String) json.get("jwksFetchedAt")));
+  }
+
+  /** Writes to a temporary file and moves it over, so a crash never leaves half a snapshot. */
+  private void save(Snapshot snapshot) {
+    Map<String, Object> json = new LinkedHashMap<>();
+    json.put("issuer", snapshot.issuer());
+    json.put("metadataFetchedAt", snapshot.metadataFetchedAt().toString());
+    json.put("metadata", snapshot.metadata());
+    json.put("jwksFetchedAt", snapshot.jwksFetchedAt().toString());
+    json.put("jwks", snapshot.jwks().toJSONObject(true));
+
+    Path file = properties.getFile().toAbsolutePath();
+    try {
+      Files.createDirectories(file.getParent());
+      Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+      objectMapper.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), json);
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      // The in-memory snapshot is still current; the next boot just starts from an older file
+      log.warn("Could not save OIDC snapshot to {}: {}", file, e.getMessage());
+    }
+  }
+
+  private boolean isStale(Instant fetchedAt, Duration ttl) {
+    return fetchedAt.plus(ttl).isBefore(Instant.now());
+  }
+
+  private boolean backingOff() {
+    return lastAttempt.plus(properties.getRefreshBackoff()).isAfter(Instant.now());
+  }
+
+  private void record(String part, String result) {
+    meterRegistry.counter("oidc.snapshot.refreshes", "part", part, "result", result).increment();
+  }
+
+  private record Snapshot(
+      String issuer,
+      Map<String, Object> metadata,
+      Instant metadataFetchedAt,
+      JWKSet jwks,
+      Instant jwksFetchedAt) {}
+}
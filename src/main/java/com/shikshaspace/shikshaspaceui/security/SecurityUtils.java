@@ -1,7 +1,10 @@
 package com.shikshaspace.shikshaspaceui.security;
 
+import com.shikshaspace.shikshaspaceui.config.BeanReference;
 import com.vaadin.flow.server.VaadinServletRequest;
 import com.vaadin.flow.server.VaadinSession;
+import java.io.Serial;
+import java.io.Serializable;
 import org.springframework.security.authentication.AnonymousAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
@@ -9,7 +12,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
 @Component
-public class SecurityUtils {
+public class SecurityUtils implements Serializable {
 
   public boolean isUserLoggedIn() {
     Authentication authentication = getAuthentication();
@@ -42,4 +45,9 @@ public class SecurityUtils {
     SecurityContext context = SecurityContextHolder.getContext();
     return context != null ? context.getAuthentication() : null;
   }
+
+  @Serial
+  private Object writeReplace() {
+    return BeanReference.to(SecurityUtils.class);
+  }
 }
@@ -0,0 +1,67 @@
+package com.shikshaspace.shikshaspaceui.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
+import org.springframework.security.oauth2.client.web.AuthenticatedPrincipalOAuth2AuthorizedClientRepository;
+import org.springframework.security.oauth2.client.web.OAuth2AuthorizedClientRepository;
+
+/**
+ * Keeps authorized clients in the {@link OAuth2AuthorizedClientService}, where {@link
+ * AccessTokenManager} reads them, like Boot's default repository does. With session persistence on,
+ * it also puts an {@link AuthorizedClientBackup} into the user's session, so a session restored
+ * after a restart gets its tokens back instead of a logged-in user without any.
+ */
+public class SessionBackedAuthorizedClientRepository implements OAuth2AuthorizedClientRepository {
+
+  private static final String ATTRIBUTE_PREFIX =
+      SessionBackedAuthorizedClientRepository.class.getName() + ".";
+
+  private final AuthenticatedPrincipalOAuth2AuthorizedClientRepository delegate;
+  private final boolean backupInSession;
+
+  public SessionBackedAuthorizedClientRepository(
+      OAuth2AuthorizedClientService authorizedClientService, boolean backupInSession) {
+    this.delegate =
+        new AuthenticatedPrincipalOAuth2AuthorizedClientRepository(authorizedClientService);
+    this.backupInSession = backupInSession;
+  }
+
+  @Override
+  public <T extends OAuth2AuthorizedClient> T loadAuthorizedClient(
+      String clientRegistrationId, Authentication principal, HttpServletRequest request) {
+    return delegate.loadAuthorizedClient(clientRegistrationId, principal, request);
+  }
+
+  @Override
+  public void saveAuthorizedClient(
+      OAuth2AuthorizedClient authorizedClient,
+      Authentication principal,
+      HttpServletRequest request,
+      HttpServletResponse response) {
+    delegate.saveAuthorizedClient(authorizedClient, principal, request, response);
+    if (backupInSession && principal != null && principal.isAuthenticated()) {
+      request
+          .getSession()
+          .setAttribute(
+              ATTRIBUTE_PREFIX + authorizedClient.getClientRegistration().getRegistrationId(),
+              new AuthorizedClientBackup(authorizedClient, principal));
+    }
+  }
+
+  @Override
+  public void removeAuthorizedClient(
+      String clientRegistrationId,
+      Authentication principal,
+      HttpServletRequest request,
+      HttpServletResponse response) {
+    delegate.removeAuthorizedClient(clientRegistrationId, principal, request, response);
+    HttpSession session = request.getSession(false);
+    if (session != null) {
+      session.removeAttribute(ATTRIBUTE_PREFIX + clientRegistrationId);
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package com.shikshaspace.shikshaspaceui.security;
+
+import com.shikshaspace.shikshaspaceui.config.OidcSnapshotProperties;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.boot.autoconfigure.security.oauth2.client.OAuth2ClientProperties;
+import org.springframework.boot.autoconfigure.security.oauth2.client.OAuth2ClientPropertiesMapper;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.security.oauth2.client.registration.InMemoryClientRegistrationRepository;
+
+/**
+ * Client registrations from {@code spring.security.oauth2.client.*}, with the snapshot provider's
+ * endpoints, issuer and metadata taken from {@link OidcProviderMetadataStore} rather than from
+ * discovery. Rebuilt whenever a background refresh finds the provider's metadata changed.
+ */
+public class SnapshotClientRegistrationRepository
+    implements ClientRegistrationRepository, Iterable<ClientRegistration> {
+
+  private final OAuth2ClientProperties clientProperties;
+  private final OidcSnapshotProperties properties;
+  private final OidcProviderMetadataStore metadataStore;
+
+  private volatile InMemoryClientRegistrationRepository registrations;
+
+  public SnapshotClientRegistrationRepository(
+      OAuth2ClientProperties clientProperties,
+      OidcSnapshotProperties properties,
+      OidcProviderMetadataStore metadataStore) {
+    this.clientProperties = clientProperties;
+    this.properties = properties;
+    this.metadataStore = metadataStore;
+    this.registrations = build(metadataStore.metadata());
+    metadataStore.onMetadataChange(metadata -> registrations = build(metadata));
+  }
+
+  @Override
+  public ClientRegistration findByRegistrationId(String registrationId) {
+    return registrations.findByRegistrationId(registrationId);
+  }
+
+  @Override
+  public Iterator<ClientRegistration> iterator() {
+    return registrations.iterator();
+  }
+
+  private InMemoryClientRegistrationRepository build(Map<String, Object> metadata) {
+    // Boot's mapper does the property handling; without an issuer-uri it never discovers
+    OAuth2ClientProperties resolved = new OAuth2ClientProperties();
+    resolved.getRegistration().putAll(clientProperties.getRegistration());
+    resolved.getProvider().putAll(clientProperties.getProvider());
+    resolved
+        .getProvider()
+        .put(
+            properties.getProvider(),
+            fromSnapshot(clientProperties.getProvider().get(properties.getProvider()), metadata));
+
+    return new InMemoryClientRegistrationRepository(
+        new OAuth2ClientPropertiesMapper(resolved)
+            .asClientRegistrations().entrySet().stream()
+                .map(entry -> withMetadata(entry.getKey(), entry.getValue(), metadata))
+                .collect(Collectors.toList()));
+  }
+
+  private OAuth2ClientProperties.Provider fromSnapshot(
+      OAuth2ClientProperties.Provider configured, Map<String, Object> metadata) {
+    OAuth2ClientProperties.Provider provider = new OAuth2ClientProperties.Provider();
+    provider.setAuthorizationUri((String) metadata.get("authorization_endpoint"));
+    provider.setTokenUri((String) metadata.get("token_endpoint"));
+    provider.setUserInfoUri((String) metadata.get("userinfo_endpoint"));
+    provider.setJwkSetUri((String) metadata.get("jwks_uri"));
+    if (configured != null) {
+      provider.setUserInfoAuthenticationMethod(configured.getUserInfoAuthenticationMethod());
+      provider.setUserNameAttribute(configured.getUserNameAttribute());
+    }
+    return provider;
+  }
+
+  /** Adds what discovery would have set: the issuer ID tokens are checked against, and logout. */
+  private ClientRegistration withMetadata(
+      String registrationId, ClientRegistration registration, Map<String, Object> metadata) {
+    OAuth2ClientProperties.Registration configured =
+        clientProperties.getRegistration().get(registrationId);
+    String provider = configured.getProvider() != null ? configured.getProvider() : registrationId;
+    if (!provider.equals(properties.getProvider())) {
+      return registration;
+    }
+    return ClientRegistration.withClientRegistration(registration)
+        .issuerUri(metadataStore.issuer())
+        .providerConfigurationMetadata(metadata)
+        .build();
+  }
+}
@@ -0,0 +1,79 @@
+package com.shikshaspace.shikshaspaceui.security;
+
+import com.shikshaspace.shikshaspaceui.config.TokenRelayProperties;
+import java.util.Map;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Sends the logged-in user's access token as a bearer token on backend calls.
+ *
+ * <p>The user is captured by {@link #captureAuthentication} when the request is built, on the
+ * caller's thread (request or {@code UI.access} thread, where Vaadin's security context strategy
+ * applies), so retries and subscriptions on other threads still carry it. Requests built without a
+ * user, such as background polls, are sent unchanged.
+ *
+ * <p>Requests marked {@link #shared()} never carry the user's token, since their response is handed
+ * to other users too. They are sent with the service credential of {@code
+ * token-relay.shared-registration-id} if one is configured, otherwise without a token.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenRelayFilter implements ExchangeFilterFunction {
+
+  private static final String AUTHENTICATION_ATTRIBUTE =
+      TokenRelayFilter.class.getName() + ".authentication";
+  private static final String SHARED_ATTRIBUTE = TokenRelayFilter.class.getName() + ".shared";
+
+  private final AccessTokenManager accessTokenManager;
+  private final TokenRelayProperties properties;
+
+  /** {@link WebClient.Builder#defaultRequest} hook recording the current OAuth2 user. */
+  public void captureAuthentication(WebClient.RequestHeadersSpec<?> request) {
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    if (authentication instanceof OAuth2AuthenticationToken) {
+      request.attribute(AUTHENTICATION_ATTRIBUTE, authentication);
+    }
+  }
+
+  /**
+   * {@link WebClient.RequestHeadersSpec#attributes} marker for a request whose response is shared
+   * between users, such as a cached catalog read.
+   */
+  public static Consumer<Map<String, Object>> shared() {
+    return attributes -> attributes.put(SHARED_ATTRIBUTE, Boolean.TRUE);
+  }
+
+  @Override
+  public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+    if (!properties.isEnabled() || request.headers().containsKey("Authorization")) {
+      return next.exchange(request);
+    }
+    if (request.attribute(SHARED_ATTRIBUTE).isPresent()) {
+      return withBearer(request, accessTokenManager.serviceToken(), next);
+    }
+    Object authentication = request.attribute(AUTHENTICATION_ATTRIBUTE).orElse(null);
+    if (!(authentication instanceof OAuth2AuthenticationToken user)) {
+      return next.exchange(request);
+    }
+    return withBearer(request, accessTokenManager.accessToken(user), next);
+  }
+
+  private Mono<ClientResponse> withBearer(
+      ClientRequest request, Mono<String> accessToken, ExchangeFunction next) {
+    return accessToken
+        .map(token -> ClientRequest.from(request).headers(h -> h.setBearerAuth(token)).build())
+        .defaultIfEmpty(request)
+        .flatMap(next::exchange);
+  }
+}
@@ -0,0 +1,47 @@
+package com.shikshaspace.shikshaspaceui.service;
+
+import com.shikshaspace.shikshaspaceui.dto.UserResponse;
+import com.vaadin.flow.server.VaadinSession;
+import java.io.Serializable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import reactor.core.publisher.Mono;
+
+/**
+ * Per-{@link VaadinSession} holder of cached current-user lookups, keyed by username. Each entry is
+ * a cached {@link Mono}, so concurrent callers share one in-flight request and later callers get
+ * the value until its TTL lapses. Entries are not serialized with the session.
+ */
+final class CurrentUserCache implements Serializable {
+
+  private transient ConcurrentMap<String, Mono<UserResponse>> entries;
+
+  static CurrentUserCache forCurrentSession() {
+    VaadinSession session = VaadinSession.getCurrent();
+    if (session == null) {
+      return null;
+    }
+    CurrentUserCache cache = session.getAttribute(CurrentUserCache.class);
+    if (cache == null) {
+      cache = new CurrentUserCache();
+      session.setAttribute(CurrentUserCache.class, cache);
+    }
+    return cache;
+  }
+
+  Mono<UserResponse> get(String username, Function<String, Mono<UserResponse>> loader) {
+    return entries().computeIfAbsent(username, loader);
+  }
+
+  void invalidate(String username) {
+    entries().remove(username);
+  }
+
+  private ConcurrentMap<String, Mono<UserResponse>> entries() {
+    if (entries == null) {
+      entries = new ConcurrentHashMap<>();
+    }
+    return entries;
+  }
+}
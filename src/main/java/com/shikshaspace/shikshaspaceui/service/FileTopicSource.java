@@ -0,0 +1,41 @@
+package com.shikshaspace.shikshaspaceui.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shikshaspace.shikshaspaceui.models.Topic;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+/** Reads topics from a JSON array at {@code topics.source} (defaults to the bundled file). */
+@Slf4j
+@Component
+public class FileTopicSource implements TopicSource {
+
+  private static final TypeReference<List<Topic>> TOPIC_LIST = new TypeReference<>() {};
+
+  private final ObjectMapper objectMapper;
+  private final Resource source;
+
+  public FileTopicSource(
+      ObjectMapper objectMapper, @Value("${topics.source:classpath:topics.json}") Resource source) {
+    this.objectMapper = objectMapper;
+    this.source = source;
+  }
+
+  @Override
+  public List<Topic> loadTopics() {
+    try (InputStream in = source.getInputStream()) {
+      List<Topic> topics = objectMapper.readValue(in, TOPIC_LIST);
+      log.info("Loaded {} topics from {}", topics.size(), source);
+      return topics;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to load topics from " + source, e);
+    }
+  }
+}
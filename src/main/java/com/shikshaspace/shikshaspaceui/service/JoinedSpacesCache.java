@@ -0,0 +1,99 @@
+package com.shikshaspace.shikshaspaceui.service;
+
+import com.shikshaspace.shikshaspaceui.dto.SpaceSummary;
+import com.vaadin.flow.server.VaadinSession;
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import reactor.core.publisher.Mono;
+
+/**
+ * Per-{@link VaadinSession} set of the spaces the logged-in user has joined. It is loaded from
+ * space-service once; after that the session's own joins are added to it in place, so it is never
+ * fetched again. Membership checks are a map lookup. Like {@link CurrentUserCache}, nothing is
+ * serialized with the session: a restored session loads the set again.
+ */
+final class JoinedSpacesCache implements Serializable {
+
+  private static final Comparator<SpaceSummary> BY_SCHEDULE =
+      Comparator.comparing(
+          SpaceSummary::getScheduledAt, Comparator.nullsLast(Comparator.naturalOrder()));
+
+  private transient Map<UUID, SpaceSummary> joined;
+  private transient Mono<Void> load;
+  private transient volatile boolean loaded;
+
+  static JoinedSpacesCache forCurrentSession() {
+    VaadinSession session = VaadinSession.getCurrent();
+    if (session == null) {
+      return null;
+    }
+    JoinedSpacesCache cache = session.getAttribute(JoinedSpacesCache.class);
+    if (cache == null) {
+      cache = new JoinedSpacesCache();
+      session.setAttribute(JoinedSpacesCache.class, cache);
+    }
+    return cache;
+  }
+
+  /**
+   * Completes once the set is loaded. The first call starts the load. Later calls share it, and
+   * once it has succeeded they complete at once. A failed load is not cached.
+   */
+  synchronized Mono<Void> load(Supplier<Mono<List<SpaceSummary>>> loader) {
+    if (load == null) {
+      Map<UUID, SpaceSummary> target = joined();
+      load =
+          loader
+              .get()
+              .doOnNext(spaces -> loaded(target, spaces))
+              .then()
+              .doOnError(error -> forgetLoad())
+              .cache();
+    }
+    return load;
+  }
+
+  /** The joined spaces by schedule, or null while they are not loaded yet. */
+  List<SpaceSummary> spaces() {
+    return loaded ? joined().values().stream().sorted(BY_SCHEDULE).toList() : null;
+  }
+
+  /** Whether {@code spaceId} is known to be joined; false for every space until loaded. */
+  boolean contains(UUID spaceId) {
+    return spaceId != null && joined().containsKey(spaceId);
+  }
+
+  void add(SpaceSummary space) {
+    joined().put(space.getId(), space);
+  }
+
+  /** Forgets the set, e.g. after a join whose space is not known here; the next read reloads. */
+  synchronized void invalidate() {
+    joined = null;
+    load = null;
+    loaded = false;
+  }
+
+  private synchronized void loaded(Map<UUID, SpaceSummary> target, List<SpaceSummary> spaces) {
+    // Joins that completed while the load was in flight are already in the map
+    spaces.forEach(space -> target.putIfAbsent(space.getId(), space));
+    // An invalidate() during the load dropped target; the next read loads again
+    loaded = target == joined;
+  }
+
+  private synchronized void forgetLoad() {
+    load = null;
+  }
+
+  private synchronized Map<UUID, SpaceSummary> joined() {
+    if (joined == null) {
+      joined = new ConcurrentHashMap<>();
+    }
+    return joined;
+  }
+}
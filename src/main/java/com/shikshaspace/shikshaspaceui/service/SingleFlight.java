@@ -0,0 +1,68 @@
+package com.shikshaspace.shikshaspaceui.service;
+
+import com.shikshaspace.shikshaspaceui.config.SingleFlightProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Coalesces identical concurrent backend reads. While a call for a given method and arguments is in
+ * flight, further callers subscribe to it instead of starting their own, and all of them get the
+ * same deserialized result. Once it completes the next caller starts a fresh call.
+ *
+ * <p>Only use it for reads whose result does not depend on anything but the key, and not in front
+ * of a cache that already merges concurrent loads, such as {@link SpaceCatalogCache}.
+ */
+@Component
+public class SingleFlight {
+
+  private final SingleFlightProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final Map<Key, Flight<?>> inFlight = new ConcurrentHashMap<>();
+
+  public SingleFlight(SingleFlightProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+    meterRegistry.gaugeMapSize("single.flight.in.flight", List.of(), inFlight);
+  }
+
+  /**
+   * Runs {@code call} for {@code method} and {@code args}, or joins the identical call already in
+   * flight. {@code method} is also the key of the {@code single-flight.methods} override.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> Mono<T> execute(String method, List<?> args, Supplier<Mono<T>> call) {
+    if (!properties.isEnabled(method)) {
+      return Mono.defer(call);
+    }
+    return Mono.defer(
+        () -> {
+          Key key = new Key(method, args);
+          Flight<T> created = new Flight<>();
+          created.mono =
+              Mono.defer(call).doFinally(signal -> inFlight.remove(key, created)).share();
+
+          Flight<T> existing = (Flight<T>) inFlight.putIfAbsent(key, created);
+          if (existing != null) {
+            record(method, "coalesced");
+            return existing.mono;
+          }
+          record(method, "executed");
+          return created.mono;
+        });
+  }
+
+  private void record(String method, String result) {
+    meterRegistry.counter("single.flight.calls", "method", method, "result", result).increment();
+  }
+
+  private record Key(String method, List<?> args) {}
+
+  private static final class Flight<T> {
+    private Mono<T> mono;
+  }
+}
@@ -0,0 +1,217 @@
+package com.shikshaspace.shikshaspaceui.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shikshaspace.shikshaspaceui.config.CacheProperties;
+import com.shikshaspace.shikshaspaceui.dto.SpacePage;
+import com.shikshaspace.shikshaspaceui.dto.SpaceSummary;
+import com.shikshaspace.shikshaspaceui.security.TokenRelayFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+/**
+ * Application-wide stale-while-revalidate cache for space catalog reads.
+ *
+ * <p>Entries older than {@code cache.space-catalog.ttl} are still served while a background refresh
+ * revalidates them with {@code If-None-Match}; an unchanged catalog costs a 304 and no
+ * deserialization. Entries older than {@code cache.space-catalog.max-stale} are dropped.
+ *
+ * <p>The last successful response per URI is also kept aside, for up to {@code max-stale} after it
+ * was fetched or last revalidated. When a load fails (for example because space-service's circuit
+ * breaker is open) that last known good catalog is served instead of an error. It is handed to the
+ * caller only, never written back into the cache, so it cannot outlive {@code max-stale}.
+ *
+ * <p>Entries are shared by all users and refreshed in the background, so fetches are {@link
+ * TokenRelayFilter#shared() shared} requests: they never carry the token of the user who caused the
+ * miss.
+ */
+@Slf4j
+@Component
+public class SpaceCatalogCache {
+
+  private static final String CACHE_NAME = "spaceCatalog";
+  private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+  /** Request attribute WebClient reads the {@code uri} metric tag from. */
+  private static final String URI_TEMPLATE_ATTRIBUTE = WebClient.class.getName() + ".uriTemplate";
+
+  private final WebClient spaceServiceClient;
+  private final MeterRegistry meterRegistry;
+  private final AsyncLoadingCache<CatalogKey, CatalogEntry> cache;
+  private final Cache<CatalogKey, CatalogEntry> lastKnownGood;
+
+  public SpaceCatalogCache(
+      WebClient spaceServiceClient, CacheProperties cacheProperties, MeterRegistry meterRegistry) {
+    this.spaceServiceClient = spaceServiceClient;
+    this.meterRegistry = meterRegistry;
+
+    CacheProperties.SpaceCatalog properties = cacheProperties.getSpaceCatalog();
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumSize(properties.getMaxEntries())
+            .refreshAfterWrite(properties.getTtl())
+            .expireAfterWrite(properties.getMaxStale())
+            .recordStats()
+            .buildAsync(new ConditionalLoader());
+    this.lastKnownGood =
+        Caffeine.newBuilder()
+            .maximumSize(properties.getMaxEntries())
+            .expireAfterWrite(properties.getMaxStale())
+            .build();
+
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  /**
+   * Returns the cached response for {@code uri}, decoded as {@code type} and fetching it on a miss.
+   * Cancelling the returned Mono does not cancel the shared fetch other callers may be waiting on.
+   */
+  public <T> Mono<List<T>> get(String uri, Class<T> type) {
+    return load(new CatalogKey(uri, type)).map(entry -> entry.spaces(type));
+  }
+
+  /**
+   * Like {@link #get(String, Class)} for a page of summaries, with the catalog size from the {@code
+   * X-Total-Count} response header; {@code totalElements} is null when space-service did not send
+   * it.
+   */
+  public Mono<SpacePage> getPage(String uri) {
+    return load(new CatalogKey(uri, SpaceSummary.class))
+        .map(
+            entry ->
+                SpacePage.builder()
+                    .content(entry.spaces(SpaceSummary.class))
+                    .totalElements(entry.totalCount())
+                    .build());
+  }
+
+  /**
+   * Revalidates {@code uri} now (conditionally, if cached) and returns the fresh value, which
+   * replaces the cached one for all readers.
+   */
+  public <T> Mono<List<T>> refresh(String uri, Class<T> type) {
+    return Mono.fromFuture(() -> cache.synchronous().refresh(new CatalogKey(uri, type)), true)
+        .map(entry -> entry.spaces(type));
+  }
+
+  /**
+   * Drops every cached page ({@code uri} with a {@code page} parameter), keeping whole catalogs.
+   */
+  public void invalidatePages() {
+    cache.synchronous().asMap().keySet().removeIf(key -> key.uri().contains("page="));
+  }
+
+  public void invalidateAll() {
+    cache.synchronous().invalidateAll();
+    log.debug("Space catalog cache invalidated");
+  }
+
+  private Mono<CatalogEntry> load(CatalogKey key) {
+    return Mono.fromFuture(() -> cache.get(key), true).onErrorResume(e -> fallback(key, e));
+  }
+
+  private Mono<CatalogEntry> fetch(CatalogKey key, CatalogEntry previous) {
+    String uri = key.uri();
+    return spaceServiceClient
+        .get()
+        .uri(uri)
+        .attribute(
+            URI_TEMPLATE_ATTRIBUTE, UriComponentsBuilder.fromUriString(uri).build().getPath())
+        .attributes(TokenRelayFilter.shared())
+        .headers(
+            headers -> {
+              if (previous != null && previous.etag() != null) {
+                headers.setIfNoneMatch(previous.etag());
+              }
+            })
+        .exchangeToMono(response -> toEntry(response, key.type(), previous));
+  }
+
+  private Mono<CatalogEntry> toEntry(
+      ClientResponse response, Class<?> type, CatalogEntry previous) {
+    if (previous != null && response.statusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+      recordRefresh("not_modified");
+      return response.releaseBody().thenReturn(previous);
+    }
+    if (response.statusCode().is2xxSuccessful()) {
+      HttpHeaders headers = response.headers().asHttpHeaders();
+      String etag = headers.getFirst(HttpHeaders.ETAG);
+      Long totalCount = parseTotalCount(headers.getFirst(TOTAL_COUNT_HEADER));
+      return response
+          .bodyToFlux(type)
+          .collectList()
+          .map(spaces -> new CatalogEntry(List.copyOf(spaces), totalCount, etag))
+          .doOnSuccess(ignored -> recordRefresh(previous != null ? "modified" : "loaded"));
+    }
+    recordRefresh("error");
+    return response.createError();
+  }
+
+  private Mono<CatalogEntry> fallback(CatalogKey key, Throwable error) {
+    CatalogEntry entry = lastKnownGood.getIfPresent(key);
+    if (entry == null) {
+      return Mono.error(error);
+    }
+    log.warn("Space catalog load failed, serving last known good: {}", error.getMessage());
+    recordRefresh("fallback");
+    return Mono.just(entry);
+  }
+
+  private Long parseTotalCount(String value) {
+    if (value == null) {
+      return null;
+    }
+    try {
+      return Long.parseLong(value.trim());
+    } catch (NumberFormatException e) {
+      log.warn("Ignoring malformed {} header: {}", TOTAL_COUNT_HEADER, value);
+      return null;
+    }
+  }
+
+  private void recordRefresh(String result) {
+    meterRegistry.counter("cache.space.catalog.fetch", "result", result).increment();
+  }
+
+  /** The same URI may be cached once per element type, e.g. full responses and summaries. */
+  private record CatalogKey(String uri, Class<?> type) {}
+
+  private record CatalogEntry(List<?> spaces, Long totalCount, String etag) {
+
+    @SuppressWarnings("unchecked")
+    <T> List<T> spaces(Class<T> type) {
+      return (List<T>) spaces;
+    }
+  }
+
+  private class ConditionalLoader implements AsyncCacheLoader<CatalogKey, CatalogEntry> {
+
+    @Override
+    public CompletableFuture<CatalogEntry> asyncLoad(CatalogKey key, Executor executor) {
+      return fetch(key, null).doOnNext(entry -> lastKnownGood.put(key, entry)).toFuture();
+    }
+
+    @Override
+    public CompletableFuture<CatalogEntry> asyncReload(
+        CatalogKey key, CatalogEntry oldValue, Executor executor) {
+      return fetch(key, oldValue)
+          .doOnNext(entry -> lastKnownGood.put(key, entry))
+          .doOnError(
+              e -> log.warn("Space catalog refresh failed, serving stale: {}", e.getMessage()))
+          .toFuture();
+    }
+  }
+}
@@ -0,0 +1,326 @@
+package com.shikshaspace.shikshaspaceui.service;
+
+import com.shikshaspace.shikshaspaceui.config.BeanReference;
+import com.shikshaspace.shikshaspaceui.dto.SpaceChanges;
+import com.shikshaspace.shikshaspaceui.dto.SpaceSearchResult;
+import com.shikshaspace.shikshaspaceui.dto.SpaceSummary;
+import com.vaadin.flow.shared.Registration;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * In-memory inverted index over space title, subtitle, category and host username, backing the
+ * Explore view.
+ *
+ * <p>While an Explore view is open ({@link #follow()}) the index follows the catalog {@link
+ * SpaceUpdateBroadcaster} polls: it is rebuilt from the polled catalog whenever it does not hold
+ * that catalog yet, and after that kept current by applying the broadcaster's changes one space at
+ * a time. If Explore is opened before the next poll, the index is built from the cached summary
+ * catalog meanwhile and replaced on that poll, since that cache may be older than the broadcaster's
+ * snapshot. With no Explore view open the index stops listening, so it does not keep the
+ * broadcaster polling, and it is loaded again when the next one opens.
+ *
+ * <p>Each space gets a slot number; every term and category maps to a {@link BitSet} of slots, so a
+ * type-ahead prefix is a range scan over the sorted terms OR-ed together, words are AND-ed and
+ * facet counts are bit counts. Hits are paged off a slot array kept in schedule order. Searches
+ * never call space-service.
+ */
+@Slf4j
+@Service
+public class SpaceSearchIndex implements Serializable {
+
+  private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+  private static final Comparator<SpaceSummary> ORDER =
+      Comparator.comparing(
+              SpaceSummary::getScheduledAt, Comparator.nullsLast(LocalDateTime::compareTo))
+          .thenComparing(SpaceSummary::getTitle, Comparator.nullsLast(String::compareTo))
+          .thenComparing(SpaceSummary::getId);
+
+  private final SpaceService spaceService;
+  private final SpaceUpdateBroadcaster spaceUpdateBroadcaster;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private final List<SpaceSummary> slots = new ArrayList<>();
+  private final Deque<Integer> freeSlots = new ArrayDeque<>();
+  private final Map<UUID, Integer> slotsById = new HashMap<>();
+  private final BitSet live = new BitSet();
+  private final NavigableMap<String, BitSet> postings = new TreeMap<>();
+  private final Map<String, BitSet> categories = new TreeMap<>();
+  private int[] ordered = new int[0];
+  private volatile boolean loaded;
+
+  /** Whether the index holds the broadcaster's latest polled catalog, so its diffs apply. */
+  private boolean tracking;
+
+  private int followers;
+  private Registration catalogRegistration;
+
+  public SpaceSearchIndex(
+      SpaceService spaceService,
+      SpaceUpdateBroadcaster spaceUpdateBroadcaster,
+      MeterRegistry meterRegistry) {
+    this.spaceService = spaceService;
+    this.spaceUpdateBroadcaster = spaceUpdateBroadcaster;
+    meterRegistry.gaugeMapSize("space.search.index.documents", List.of(), slotsById);
+  }
+
+  /**
+   * Keeps the index following the polled catalog until the returned registration is removed.
+   * Explore views hold one while attached.
+   */
+  public synchronized Registration follow() {
+    if (followers++ == 0) {
+      catalogRegistration = spaceUpdateBroadcaster.addCatalogListener(this::catalogPolled);
+    }
+    AtomicBoolean removed = new AtomicBoolean();
+    return () -> {
+      if (removed.compareAndSet(false, true)) {
+        unfollow();
+      }
+    };
+  }
+
+  /** Completes once the index holds the catalog, loading it if it does not. */
+  public Mono<Void> ready() {
+    if (loaded) {
+      return Mono.empty();
+    }
+    return spaceService
+        .getSpaceSummaries()
+        .doOnNext(
+            spaces -> {
+              if (!loaded) {
+                replaceAll(spaces, false);
+              }
+            })
+        .then();
+  }
+
+  /**
+   * Spaces matching every word of {@code query} as a prefix of one of their terms, in schedule
+   * order. {@code category} narrows the hits but not the category counts, so the facets keep
+   * showing the alternatives. A blank query matches everything.
+   */
+  public SpaceSearchResult search(String query, String category, int page, int size) {
+    List<String> tokens = tokenize(query).distinct().toList();
+    lock.readLock().lock();
+    try {
+      BitSet matches = tokens.isEmpty() ? live : match(tokens);
+
+      Map<String, Integer> counts = new LinkedHashMap<>();
+      categories.forEach((name, bits) -> counts.put(name, intersectionSize(bits, matches)));
+      counts.values().removeIf(count -> count == 0);
+
+      BitSet selected = matches;
+      if (category != null) {
+        selected = (BitSet) categories.getOrDefault(category, new BitSet()).clone();
+        selected.and(matches);
+      }
+
+      List<SpaceSummary> hits = new ArrayList<>(size);
+      int skip = page * size;
+      for (int i = 0; i < ordered.length && hits.size() < size; i++) {
+        if (selected.get(ordered[i]) && skip-- <= 0) {
+          hits.add(slots.get(ordered[i]));
+        }
+      }
+      return SpaceSearchResult.builder()
+          .hits(List.copyOf(hits))
+          .totalHits(selected.cardinality())
+          .categoryCounts(Collections.unmodifiableMap(counts))
+          .build();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private BitSet match(List<String> tokens) {
+    BitSet result = null;
+    for (String token : tokens) {
+      BitSet prefixMatches = new BitSet();
+      postings
+          .subMap(token, true, token + Character.MAX_VALUE, false)
+          .values()
+          .forEach(prefixMatches::or);
+      if (result == null) {
+        result = prefixMatches;
+      } else {
+        result.and(prefixMatches);
+      }
+      if (result.isEmpty()) {
+        break;
+      }
+    }
+    return result;
+  }
+
+  private int intersectionSize(BitSet a, BitSet b) {
+    if (b == live) {
+      return a.cardinality();
+    }
+    BitSet both = (BitSet) a.clone();
+    both.and(b);
+    return both.cardinality();
+  }
+
+  /** Without a listener the index misses changes, so the next {@link #ready()} reloads it. */
+  private synchronized void unfollow() {
+    if (--followers > 0) {
+      return;
+    }
+    catalogRegistration.remove();
+    catalogRegistration = null;
+    lock.writeLock().lock();
+    try {
+      tracking = false;
+      loaded = false;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void replaceAll(List<SpaceSummary> spaces, boolean polled) {
+    lock.writeLock().lock();
+    try {
+      tracking = polled;
+      slots.clear();
+      freeSlots.clear();
+      slotsById.clear();
+      live.clear();
+      postings.clear();
+      categories.clear();
+      spaces.forEach(this::add);
+      reorder();
+      loaded = true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+    log.info("Space search index built with {} spaces", spaces.size());
+  }
+
+  private void catalogPolled(List<SpaceSummary> catalog, SpaceChanges changes) {
+    lock.writeLock().lock();
+    try {
+      if (!tracking || changes == null) {
+        replaceAll(catalog, true);
+        return;
+      }
+      if (changes.isEmpty()) {
+        return;
+      }
+      changes.getRemoved().forEach(this::remove);
+      Stream.concat(changes.getAdded().stream(), changes.getUpdated().stream())
+          .forEach(
+              space -> {
+                remove(space.getId());
+                add(space);
+              });
+      reorder();
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private void add(SpaceSummary space) {
+    if (space.getId() == null) {
+      return;
+    }
+    int slot;
+    if (freeSlots.isEmpty()) {
+      slot = slots.size();
+      slots.add(space);
+    } else {
+      slot = freeSlots.pop();
+      slots.set(slot, space);
+    }
+    slotsById.put(space.getId(), slot);
+    live.set(slot);
+    terms(space).forEach(term -> postings.computeIfAbsent(term, t -> new BitSet()).set(slot));
+    if (space.getCategory() != null) {
+      categories.computeIfAbsent(space.getCategory(), c -> new BitSet()).set(slot);
+    }
+  }
+
+  private void remove(UUID id) {
+    Integer slot = slotsById.remove(id);
+    if (slot == null) {
+      return;
+    }
+    SpaceSummary space = slots.set(slot, null);
+    freeSlots.push(slot);
+    live.clear(slot);
+    terms(space).forEach(term -> clear(postings, term, slot));
+    if (space.getCategory() != null) {
+      clear(categories, space.getCategory(), slot);
+    }
+  }
+
+  private void clear(Map<String, BitSet> index, String key, int slot) {
+    BitSet bits = index.get(key);
+    if (bits != null) {
+      bits.clear(slot);
+      if (bits.isEmpty()) {
+        index.remove(key);
+      }
+    }
+  }
+
+  /** Re-sorts the live slots into schedule order; runs once per applied batch of changes. */
+  private void reorder() {
+    ordered =
+        live.stream()
+            .boxed()
+            .sorted(Comparator.comparing(slots::get, ORDER))
+            .mapToInt(Integer::intValue)
+            .toArray();
+  }
+
+  private Set<String> terms(SpaceSummary space) {
+    Set<String> terms = new HashSet<>();
+    Stream.of(space.getTitle(), space.getSubtitle(), space.getCategory(), space.getHostUsername())
+        .flatMap(SpaceSearchIndex::tokenize)
+        .forEach(terms::add);
+    return terms;
+  }
+
+  private static Stream<String> tokenize(String text) {
+    if (text == null || text.isBlank()) {
+      return Stream.empty();
+    }
+    return Arrays.stream(TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT)))
+        .filter(token -> !token.isEmpty());
+  }
+
+  @Serial
+  private Object writeReplace() {
+    return BeanReference.to(SpaceSearchIndex.class);
+  }
+}
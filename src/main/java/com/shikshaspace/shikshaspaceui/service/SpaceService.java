@@ -1,47 +1,262 @@
 package com.shikshaspace.shikshaspaceui.service;
 
+import com.shikshaspace.shikshaspaceui.config.BeanReference;
+import com.shikshaspace.shikshaspaceui.dto.SpacePage;
 import com.shikshaspace.shikshaspaceui.dto.SpaceResponse;
+import com.shikshaspace.shikshaspaceui.dto.SpaceSummary;
+import com.shikshaspace.shikshaspaceui.metrics.ErrorMetrics;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class SpaceService {
+public class SpaceService implements Serializable {
+
+  public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+  private static final String SPACES_URI = "/api/v1/spaces";
+
+  /**
+   * Projection that returns only {@link SpaceSummary} fields (id, title, subtitle, hostUsername,
+   * category, scheduledAt). Used for everything the cards render; full {@link SpaceResponse}s are
+   * only fetched by {@link #getAllSpaces()}.
+   */
+  private static final String SUMMARY_VIEW = "summary";
+
+  private static final String SUMMARIES_URI = SPACES_URI + "?view=" + SUMMARY_VIEW;
+
+  /** The logged-in user's joined spaces, identified by the relayed access token. */
+  private static final String JOINED_URI = SPACES_URI + "/joined?view=" + SUMMARY_VIEW;
+
+  private static final int JOIN_MAX_RETRIES = 2;
+  private static final Duration JOIN_RETRY_BACKOFF = Duration.ofMillis(200);
 
   private final WebClient spaceServiceClient;
+  private final SpaceCatalogCache spaceCatalogCache;
+  private final ErrorMetrics errorMetrics;
 
   public List<SpaceResponse> getAllSpaces() {
     try {
-      return spaceServiceClient
-          .get()
-          .uri("/api/v1/spaces")
-          .retrieve()
-          .bodyToFlux(SpaceResponse.class)
-          .collectList()
-          .block();
+      return getAllSpacesAsync().block();
     } catch (Exception e) {
       log.error("Failed to get spaces: {}", e.getMessage());
+      errorMetrics.swallowed("SpaceService", "getAllSpaces", e);
       return List.of();
     }
   }
 
+  /**
+   * Non-blocking variant of {@link #getAllSpaces()}; errors are propagated, not swallowed. Served
+   * from {@link SpaceCatalogCache}, so most calls do not reach space-service, and concurrent misses
+   * share one fetch.
+   */
+  public Mono<List<SpaceResponse>> getAllSpacesAsync() {
+    return spaceCatalogCache.get(SPACES_URI, SpaceResponse.class);
+  }
+
+  /** The whole catalog as summaries, served from {@link SpaceCatalogCache}. */
+  public Mono<List<SpaceSummary>> getSpaceSummaries() {
+    return spaceCatalogCache.get(SUMMARIES_URI, SpaceSummary.class);
+  }
+
+  /**
+   * Revalidates the summary catalog against space-service, bypassing the cache TTL. Summaries carry
+   * only what the cards render, so changes to other fields are not reported.
+   */
+  public Mono<List<SpaceSummary>> refreshSpaceSummaries() {
+    return spaceCatalogCache.refresh(SUMMARIES_URI, SpaceSummary.class);
+  }
+
+  /**
+   * Streams the catalog as space-service sends it, one space at a time. NDJSON is preferred; a
+   * plain JSON array works too, since its elements are decoded as they arrive. Unlike {@link
+   * #getAllSpacesAsync()} nothing is cached or collected, and the response is only read as fast as
+   * the subscriber requests elements.
+   */
+  public Flux<SpaceSummary> streamSpaces(String sort) {
+    return spaceServiceClient
+        .get()
+        .uri(SUMMARIES_URI + "&sort={sort}", sort)
+        .accept(MediaType.APPLICATION_NDJSON, MediaType.APPLICATION_JSON)
+        .retrieve()
+        .bodyToFlux(SpaceSummary.class);
+  }
+
+  public void invalidatePages() {
+    spaceCatalogCache.invalidatePages();
+  }
+
+  /**
+   * Fetches one page of card summaries. space-service answers {@code
+   * /api/v1/spaces?view=summary&page&size&sort} with the requested window as a JSON array and the
+   * catalog size in {@code X-Total-Count}; a page shorter than {@code size} is the last one.
+   * Without the header the total is taken to end at this page. Pages are cached individually in
+   * {@link SpaceCatalogCache}.
+   */
+  public Mono<SpacePage> getSpacesPage(int page, int size, String sort) {
+    UriComponentsBuilder uri =
+        UriComponentsBuilder.fromPath(SPACES_URI)
+            .queryParam("view", SUMMARY_VIEW)
+            .queryParam("page", page)
+            .queryParam("size", size);
+    if (sort != null) {
+      uri.queryParam("sort", sort);
+    }
+    String pageUri = uri.build().toUriString();
+    return spaceCatalogCache
+        .getPage(pageUri)
+        .map(
+            result ->
+                SpacePage.builder()
+                    .content(result.getContent())
+                    .totalElements(
+                        result.getTotalElements() != null
+                            ? result.getTotalElements()
+                            : (long) page * size + result.getContent().size())
+                    .build());
+  }
+
   public void joinSpace(UUID spaceId) {
     try {
-      spaceServiceClient
-          .post()
-          .uri("/api/v1/spaces/{id}/join", spaceId)
-          .retrieve()
-          .bodyToMono(Void.class)
-          .block();
-
-      log.info("Joined space: {}", spaceId);
+      joinSpaceAsync(spaceId).block();
     } catch (Exception e) {
       log.error("Failed to join space: {}", e.getMessage());
+      errorMetrics.swallowed("SpaceService", "joinSpace", e);
     }
   }
+
+  /** Non-blocking variant of {@link #joinSpace(UUID)}; errors are propagated, not swallowed. */
+  public Mono<Void> joinSpaceAsync(UUID spaceId) {
+    return joinSpaceAsync(spaceId, UUID.randomUUID().toString());
+  }
+
+  /**
+   * Joins a space, sending {@code idempotencyKey} so space-service applies repeated attempts of the
+   * same join only once. Transport failures are retried under the same key. Some of those happen
+   * after the request was sent (a reset connection, a read timeout), so the retry relies on the
+   * key, not on the first attempt never having arrived. Only the id is known here, so the session's
+   * joined spaces are reloaded on their next read.
+   */
+  public Mono<Void> joinSpaceAsync(UUID spaceId, String idempotencyKey) {
+    JoinedSpacesCache joined = JoinedSpacesCache.forCurrentSession();
+    return join(spaceId, idempotencyKey)
+        .doOnSuccess(
+            ignored -> {
+              if (joined != null) {
+                joined.invalidate();
+              }
+            });
+  }
+
+  /**
+   * Like {@link #joinSpaceAsync(UUID, String)}, but adds {@code space} to the session's joined
+   * spaces once space-service has accepted the join, so they need no reload. Call it on the UI
+   * thread.
+   */
+  public Mono<Void> joinSpaceAsync(SpaceSummary space, String idempotencyKey) {
+    JoinedSpacesCache joined = JoinedSpacesCache.forCurrentSession();
+    return join(space.getId(), idempotencyKey)
+        .doOnSuccess(
+            ignored -> {
+              if (joined != null) {
+                joined.add(space);
+              }
+            });
+  }
+
+  /**
+   * The logged-in user's joined spaces by schedule. Within a Vaadin session they are fetched once
+   * and then kept up to date by {@link #joinSpaceAsync(SpaceSummary, String)}, so this only calls
+   * space-service the first time. Call it on the UI thread.
+   */
+  public Mono<List<SpaceSummary>> getJoinedSpaces() {
+    JoinedSpacesCache joined = JoinedSpacesCache.forCurrentSession();
+    if (joined == null) {
+      return fetchJoinedSpaces();
+    }
+    return joined.load(this::fetchJoinedSpaces).then(Mono.fromSupplier(joined::spaces));
+  }
+
+  /** The session's joined spaces if they are already loaded; never calls space-service. */
+  public Optional<List<SpaceSummary>> getCachedJoinedSpaces() {
+    JoinedSpacesCache joined = JoinedSpacesCache.forCurrentSession();
+    return Optional.ofNullable(joined != null ? joined.spaces() : null);
+  }
+
+  /**
+   * Whether the logged-in user has joined {@code spaceId}, answered from the session's joined
+   * spaces. False while they are not loaded; see {@link #prefetchJoinedSpaces()}.
+   */
+  public boolean hasJoined(UUID spaceId) {
+    JoinedSpacesCache joined = JoinedSpacesCache.forCurrentSession();
+    return joined != null && joined.contains(spaceId);
+  }
+
+  /**
+   * Starts loading the session's joined spaces in the background unless they are loaded or loading
+   * already. The returned Mono completes once they are; a failed load is logged and completes it
+   * too, and is retried by the next call. Call it on the UI thread.
+   */
+  public Mono<Void> prefetchJoinedSpaces() {
+    JoinedSpacesCache joined = JoinedSpacesCache.forCurrentSession();
+    if (joined == null) {
+      return Mono.empty();
+    }
+    Mono<Void> load = joined.load(this::fetchJoinedSpaces);
+    load.subscribe(
+        null,
+        error -> {
+          log.warn("Failed to load joined spaces: {}", error.getMessage());
+          errorMetrics.swallowed("SpaceService", "prefetchJoinedSpaces", error);
+        });
+    return load.onErrorResume(error -> Mono.empty());
+  }
+
+  private Mono<List<SpaceSummary>> fetchJoinedSpaces() {
+    return spaceServiceClient
+        .get()
+        .uri(JOINED_URI)
+        .retrieve()
+        .bodyToFlux(SpaceSummary.class)
+        .collectList();
+  }
+
+  private Mono<Void> join(UUID spaceId, String idempotencyKey) {
+    return spaceServiceClient
+        .post()
+        .uri(SPACES_URI + "/{id}/join", spaceId)
+        .header(IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+        .retrieve()
+        .bodyToMono(Void.class)
+        // Any transport failure, including ones after the request went out; the Idempotency-Key
+        // keeps a join that did arrive from being applied twice
+        .retryWhen(
+            Retry.backoff(JOIN_MAX_RETRIES, JOIN_RETRY_BACKOFF)
+                .filter(WebClientRequestException.class::isInstance))
+        .doOnSuccess(
+            ignored -> {
+              log.info("Joined space: {} (key {})", spaceId, idempotencyKey);
+              spaceCatalogCache.invalidateAll();
+            });
+  }
+
+  @Serial
+  private Object writeReplace() {
+    return BeanReference.to(SpaceService.class);
+  }
 }
@@ -0,0 +1,277 @@
+package com.shikshaspace.shikshaspaceui.service;
+
+import com.shikshaspace.shikshaspaceui.config.BackgroundThreads;
+import com.shikshaspace.shikshaspaceui.config.BeanReference;
+import com.shikshaspace.shikshaspaceui.config.SpaceUpdatesProperties;
+import com.shikshaspace.shikshaspaceui.dto.SpaceChanges;
+import com.shikshaspace.shikshaspaceui.dto.SpaceSummary;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
+import com.vaadin.flow.shared.Registration;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Polls space-service once for the whole application and fans the differences out to every
+ * listening UI via server push.
+ *
+ * <p>The poll revalidates the catalog through {@link SpaceService#refreshSpaceSummaries()}, so an
+ * unchanged catalog costs a 304. Each UI gets at most one push per {@code
+ * space-updates.ui-throttle}; changes arriving in between are merged. Listeners are dropped when
+ * their registration is removed or their UI turns out to be detached.
+ */
+@Slf4j
+@Service
+public class SpaceUpdateBroadcaster implements Serializable {
+
+  private final SpaceService spaceService;
+  private final SpaceUpdatesProperties properties;
+  private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+  private final List<CatalogListener> catalogListeners = new CopyOnWriteArrayList<>();
+  private final ScheduledExecutorService scheduler;
+
+  private final Counter pushes;
+  private Map<UUID, SpaceSummary> snapshot;
+
+  public SpaceUpdateBroadcaster(
+      SpaceService spaceService,
+      SpaceUpdatesProperties properties,
+      BackgroundThreads backgroundThreads,
+      MeterRegistry meterRegistry) {
+    this.spaceService = spaceService;
+    this.properties = properties;
+    this.scheduler =
+        Executors.newSingleThreadScheduledExecutor(backgroundThreads.factory("space-updates"));
+    this.pushes = meterRegistry.counter("space.updates.pushes");
+    meterRegistry.gaugeCollectionSize("space.updates.listeners", List.of(), listeners);
+  }
+
+  /**
+   * Sends catalog changes to {@code listener} inside {@link UI#access} of {@code ui} until the
+   * returned registration is removed. Callers remove it in {@code onDetach}: nothing is added to
+   * the component tree, which is serialized with the session and cannot hold the subscription.
+   */
+  public Registration register(UI ui, Consumer<SpaceChanges> listener) {
+    Listener registration = new Listener(ui, listener);
+    listeners.add(registration);
+    return () -> listeners.remove(registration);
+  }
+
+  /**
+   * Calls {@code listener} on the poll thread after every successful poll, unthrottled and whether
+   * or not anything changed. Unlike UI listeners these keep the poll running while no UI is
+   * listening.
+   */
+  public Registration addCatalogListener(CatalogListener listener) {
+    catalogListeners.add(listener);
+    return () -> catalogListeners.remove(listener);
+  }
+
+  @PostConstruct
+  void start() {
+    if (properties.isEnabled()) {
+      long interval = properties.getPollInterval().toMillis();
+      scheduler.scheduleWithFixedDelay(this::poll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  @PreDestroy
+  void stop() {
+    scheduler.shutdownNow();
+  }
+
+  void poll() {
+    if (listeners.isEmpty() && catalogListeners.isEmpty()) {
+      return;
+    }
+    try {
+      List<SpaceSummary> spaces = spaceService.refreshSpaceSummaries().block();
+      if (spaces != null) {
+        publish(spaces);
+      }
+    } catch (Exception e) {
+      log.warn("Space update poll failed: {}", e.getMessage());
+    }
+  }
+
+  private void publish(List<SpaceSummary> spaces) {
+    Map<UUID, SpaceSummary> current = new LinkedHashMap<>();
+    spaces.stream().filter(space -> space.getId() != null).forEach(s -> current.put(s.getId(), s));
+
+    Map<UUID, SpaceSummary> previous = snapshot;
+    snapshot = current;
+    SpaceChanges changes =
+        previous != null ? diff(previous, current) : SpaceChanges.builder().build();
+
+    List<SpaceSummary> catalog = List.copyOf(current.values());
+    catalogListeners.forEach(
+        listener -> {
+          try {
+            listener.catalogPolled(catalog, previous != null ? changes : null);
+          } catch (RuntimeException e) {
+            log.warn("Catalog listener failed: {}", e.getMessage());
+          }
+        });
+
+    if (changes.isEmpty()) {
+      return;
+    }
+    spaceService.invalidatePages();
+    log.debug(
+        "Space catalog changed: {} added, {} updated, {} removed",
+        changes.getAdded().size(),
+        changes.getUpdated().size(),
+        changes.getRemoved().size());
+    listeners.forEach(listener -> listener.offer(changes));
+  }
+
+  private SpaceChanges diff(Map<UUID, SpaceSummary> previous, Map<UUID, SpaceSummary> current) {
+    List<SpaceSummary> added = new ArrayList<>();
+    List<SpaceSummary> updated = new ArrayList<>();
+    current.forEach(
+        (id, space) -> {
+          SpaceSummary before = previous.get(id);
+          if (before == null) {
+            added.add(space);
+          } else if (!before.equals(space)) {
+            updated.add(space);
+          }
+        });
+    Set<UUID> removed = new HashSet<>(previous.keySet());
+    removed.removeAll(current.keySet());
+    return SpaceChanges.builder()
+        .added(List.copyOf(added))
+        .updated(List.copyOf(updated))
+        .removed(Set.copyOf(removed))
+        .build();
+  }
+
+  /** Server-side consumer of every polled catalog; see {@link #addCatalogListener}. */
+  @FunctionalInterface
+  public interface CatalogListener {
+
+    /**
+     * {@code catalog} is the catalog as just polled, the same list later diffs are taken against.
+     * {@code changes} is the difference to the previous poll, or null on the first poll.
+     */
+    void catalogPolled(List<SpaceSummary> catalog, SpaceChanges changes);
+  }
+
+  /** One UI's subscription: merges changes and pushes them at most once per throttle window. */
+  private final class Listener {
+
+    private final UI ui;
+    private final Consumer<SpaceChanges> consumer;
+    private SpaceChanges pending;
+    private long lastPushNanos;
+
+    Listener(UI ui, Consumer<SpaceChanges> consumer) {
+      this.ui = ui;
+      this.consumer = consumer;
+      // nanoTime has an arbitrary origin, so a zero would not mean "long ago"
+      this.lastPushNanos = System.nanoTime() - properties.getUiThrottle().toNanos();
+    }
+
+    synchronized void offer(SpaceChanges changes) {
+      boolean flushScheduled = pending != null;
+      pending = pending == null ? changes : merge(pending, changes);
+      if (flushScheduled) {
+        return;
+      }
+      long throttle = properties.getUiThrottle().toNanos();
+      long delay = Math.max(0, lastPushNanos + throttle - System.nanoTime());
+      scheduler.schedule(this::flush, delay, TimeUnit.NANOSECONDS);
+    }
+
+    private void flush() {
+      SpaceChanges changes;
+      synchronized (this) {
+        changes = pending;
+        pending = null;
+        lastPushNanos = System.nanoTime();
+      }
+      // Changes merged within the window may cancel out, e.g. a space added and removed again
+      if (changes == null || changes.isEmpty() || !listeners.contains(this)) {
+        return;
+      }
+      try {
+        ui.access(() -> consumer.accept(changes));
+        pushes.increment();
+      } catch (UIDetachedException e) {
+        listeners.remove(this);
+      }
+    }
+
+    private SpaceChanges merge(SpaceChanges older, SpaceChanges newer) {
+      Map<UUID, SpaceSummary> added = byId(older.getAdded());
+      Map<UUID, SpaceSummary> updated = byId(older.getUpdated());
+      Set<UUID> removed = new HashSet<>(older.getRemoved());
+
+      newer
+          .getAdded()
+          .forEach(
+              space -> {
+                // The UI still shows a space whose removal has not been pushed yet
+                if (removed.remove(space.getId())) {
+                  updated.put(space.getId(), space);
+                } else {
+                  added.put(space.getId(), space);
+                }
+              });
+      newer
+          .getUpdated()
+          .forEach(
+              space -> {
+                if (added.containsKey(space.getId())) {
+                  added.put(space.getId(), space);
+                } else {
+                  updated.put(space.getId(), space);
+                }
+              });
+      newer
+          .getRemoved()
+          .forEach(
+              id -> {
+                updated.remove(id);
+                if (added.remove(id) == null) {
+                  removed.add(id);
+                }
+              });
+
+      return SpaceChanges.builder()
+          .added(List.copyOf(added.values()))
+          .updated(List.copyOf(updated.values()))
+          .removed(Set.copyOf(removed))
+          .build();
+    }
+
+    private Map<UUID, SpaceSummary> byId(List<SpaceSummary> spaces) {
+      Map<UUID, SpaceSummary> map = new LinkedHashMap<>();
+      spaces.forEach(space -> map.put(space.getId(), space));
+      return map;
+    }
+  }
+
+  @Serial
+  private Object writeReplace() {
+    return BeanReference.to(SpaceUpdateBroadcaster.class);
+  }
+}
@@ -1,98 +1,77 @@
 package com.shikshaspace.shikshaspaceui.service;
 
 import com.shikshaspace.shikshaspaceui.models.Topic;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
 
-/** Service layer for Topic operations */
+/**
+ * Service layer for Topic operations. Reads go against an immutable, pre-indexed snapshot that is
+ * swapped in one volatile write on {@link #reload()}, so lookups take no locks and allocate
+ * nothing.
+ */
 @Service
 public class TopicService {
 
-  public List<Topic> getAllTopics() {
-    List<Topic> topics = new ArrayList<>();
-
-    topics.add(
-        Topic.builder()
-            .id(1L)
-            .title("Agentic AI")
-            .subtitle("Agentic AI build with RAG + implementation")
-            .author("rahul")
-            .participantCount(42)
-            .category("AI/ML")
-            .isActive(true)
-            .build());
-
-    topics.add(
-        Topic.builder()
-            .id(2L)
-            .title("Machine Learning")
-            .subtitle("ML fundamentals and advanced concepts")
-            .author("priya")
-            .participantCount(38)
-            .category("AI/ML")
-            .isActive(true)
-            .build());
+  private final TopicSource topicSource;
+  private volatile TopicCatalog catalog;
 
-    topics.add(
-        Topic.builder()
-            .id(3L)
-            .title("Web Development")
-            .subtitle("Full-stack development with Spring Boot")
-            .author("amit")
-            .participantCount(56)
-            .category("Web Development")
-            .isActive(true)
-            .build());
-
-    topics.add(
-        Topic.builder()
-            .id(4L)
-            .title("Data Science")
-            .subtitle("Python for data analysis and visualization")
-            .author("neha")
-            .participantCount(31)
-            .category("Data Science")
-            .isActive(true)
-            .build());
-
-    topics.add(
-        Topic.builder()
-            .id(5L)
-            .title("Cloud Computing")
-            .subtitle("AWS, Azure, and GCP fundamentals")
-            .author("rajesh")
-            .participantCount(28)
-            .category("Cloud")
-            .isActive(true)
-            .build());
+  public TopicService(TopicSource topicSource) {
+    this.topicSource = topicSource;
+    reload();
+  }
 
-    topics.add(
-        Topic.builder()
-            .id(6L)
-            .title("Cybersecurity")
-            .subtitle("Ethical hacking and penetration testing")
-            .author("sneha")
-            .participantCount(19)
-            .category("Security")
-            .isActive(true)
-            .build());
+  /**
+   * Re-reads the source and atomically replaces the current snapshot; readers see either the old or
+   * the new one, never a mix. If the source fails, the current snapshot stays.
+   *
+   * <p>Nothing triggers it yet: {@link FileTopicSource} defaults to the bundled {@code
+   * topics.json}, which only changes with a deploy. Call it once topics come from a source that
+   * changes at runtime.
+   */
+  public void reload() {
+    catalog = TopicCatalog.of(topicSource.loadTopics());
+  }
 
-    return topics;
+  public List<Topic> getAllTopics() {
+    return catalog.all();
   }
 
   public Topic getTopicById(Long id) {
-    return getAllTopics().stream()
-        .filter(topic -> topic.getId().equals(id))
-        .findFirst()
-        .orElse(null);
+    return catalog.byId().get(id);
   }
 
   public List<Topic> getTopicsByCategory(String category) {
-    return getAllTopics().stream().filter(topic -> category.equals(topic.getCategory())).toList();
+    return catalog.byCategory().getOrDefault(category, List.of());
   }
 
   public List<Topic> getActiveTopics() {
-    return getAllTopics().stream().filter(Topic::getIsActive).toList();
+    return catalog.active();
+  }
+
+  private record TopicCatalog(
+      List<Topic> all,
+      Map<Long, Topic> byId,
+      Map<String, List<Topic>> byCategory,
+      List<Topic> active) {
+
+    static TopicCatalog of(List<Topic> topics) {
+      List<Topic> all = List.copyOf(topics);
+      return new TopicCatalog(
+          all,
+          all.stream().collect(Collectors.toUnmodifiableMap(Topic::getId, Function.identity())),
+          all.stream()
+              .filter(topic -> topic.getCategory() != null)
+              .collect(
+                  Collectors.groupingBy(
+                      Topic::getCategory,
+                      Collectors.collectingAndThen(Collectors.toList(), List::copyOf)))
+              .entrySet()
+              .stream()
+              .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, Map.Entry::getValue)),
+          all.stream().filter(topic -> Boolean.TRUE.equals(topic.getIsActive())).toList());
+    }
   }
 }
@@ -0,0 +1,10 @@
+package com.shikshaspace.shikshaspaceui.service;
+
+import com.shikshaspace.shikshaspaceui.models.Topic;
+import java.util.List;
+
+/** Where {@link TopicService} loads its catalog from. */
+public interface TopicSource {
+
+  List<Topic> loadTopics();
+}
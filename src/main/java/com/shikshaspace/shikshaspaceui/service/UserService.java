@@ -1,46 +1,106 @@
 package com.shikshaspace.shikshaspaceui.service;
 
+import com.shikshaspace.shikshaspaceui.config.BeanReference;
+import com.shikshaspace.shikshaspaceui.config.CacheProperties;
 import com.shikshaspace.shikshaspaceui.dto.ExternalAuthRequest;
 import com.shikshaspace.shikshaspaceui.dto.UserResponse;
+import com.shikshaspace.shikshaspaceui.metrics.ErrorMetrics;
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
-public class UserService {
+public class UserService implements Serializable {
 
   private final WebClient userServiceClient;
+  private final CacheProperties cacheProperties;
+  private final SingleFlight singleFlight;
+  private final ErrorMetrics errorMetrics;
 
-  public void registerExternalUser(ExternalAuthRequest request) {
-    try {
-      userServiceClient
-          .post()
-          .uri("/api/v1/auth/external")
-          .bodyValue(request)
-          .retrieve()
-          .bodyToMono(UserResponse.class)
-          .block();
-
-      log.info("External user registered: {}", request.getEmail());
-    } catch (Exception e) {
-      log.error("Failed to register external user: {}", e.getMessage());
-    }
+  /** Registers or updates one external user. */
+  public Mono<Void> registerExternalUserAsync(ExternalAuthRequest request) {
+    return userServiceClient
+        .post()
+        .uri("/api/v1/auth/external")
+        .bodyValue(request)
+        .retrieve()
+        .bodyToMono(Void.class);
+  }
+
+  /**
+   * Registers or updates several external users in one call to user-service. Only for deployments
+   * whose user-service provides the batch endpoint; see {@code user-sync.batch-endpoint}.
+   */
+  public Mono<Void> registerExternalUsersAsync(List<ExternalAuthRequest> requests) {
+    return userServiceClient
+        .post()
+        .uri("/api/v1/auth/external/batch")
+        .bodyValue(requests)
+        .retrieve()
+        .bodyToMono(Void.class);
   }
 
   public UserResponse getCurrentUser(String username) {
     try {
-      return userServiceClient
-          .get()
-          .uri("/api/v1/users/me")
-          .retrieve()
-          .bodyToMono(UserResponse.class)
-          .block();
+      return getCurrentUserAsync(username).block();
     } catch (Exception e) {
       log.error("Failed to get current user: {}", e.getMessage());
+      errorMetrics.swallowed("UserService", "getCurrentUser", e);
       return null;
     }
   }
+
+  /**
+   * Returns the current user, cached per Vaadin session for {@code cache.current-user.ttl}.
+   * Concurrent calls for the same user share one request; failures are not cached. Outside a Vaadin
+   * session every call goes to user-service.
+   */
+  public Mono<UserResponse> getCurrentUserAsync(String username) {
+    CurrentUserCache cache = CurrentUserCache.forCurrentSession();
+    if (cache == null || username == null) {
+      return fetchCurrentUser(username);
+    }
+    Duration ttl = cacheProperties.getCurrentUser().getTtl();
+    return cache.get(
+        username,
+        key ->
+            fetchCurrentUser(username)
+                .cache(user -> ttl, error -> Duration.ZERO, () -> Duration.ZERO));
+  }
+
+  /** Drops the session's cached copy of {@code username}; call after the profile is edited. */
+  public void invalidateCurrentUser(String username) {
+    CurrentUserCache cache = CurrentUserCache.forCurrentSession();
+    if (cache != null && username != null) {
+      cache.invalidate(username);
+    }
+  }
+
+  private Mono<UserResponse> fetchCurrentUser(String username) {
+    if (username == null) {
+      return requestCurrentUser();
+    }
+    return singleFlight.execute("current-user", List.of(username), this::requestCurrentUser);
+  }
+
+  private Mono<UserResponse> requestCurrentUser() {
+    return userServiceClient
+        .get()
+        .uri("/api/v1/users/me")
+        .retrieve()
+        .bodyToMono(UserResponse.class);
+  }
+
+  @Serial
+  private Object writeReplace() {
+    return BeanReference.to(UserService.class);
+  }
 }
@@ -0,0 +1,271 @@
+package com.shikshaspace.shikshaspaceui.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shikshaspace.shikshaspaceui.config.BackgroundThreads;
+import com.shikshaspace.shikshaspaceui.config.UserSyncProperties;
+import com.shikshaspace.shikshaspaceui.dto.ExternalAuthRequest;
+import com.shikshaspace.shikshaspaceui.metrics.ErrorMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Syncs OAuth2 logins to user-service off the login thread.
+ *
+ * <p>{@link #submit} only enqueues: users synced within {@code user-sync.recently-synced-ttl} are
+ * skipped, repeat logins of a user already waiting replace its queued request, and a full queue
+ * drops the request (the next login retries it). A single worker drains the queue in batches and
+ * sends each user as a {@code POST /api/v1/auth/external}, or the whole batch to {@code
+ * /api/v1/auth/external/batch} when {@code user-sync.batch-endpoint} is on, with
+ * exponential-backoff retries. Users whose sync still fails are queued again, up to {@code
+ * user-sync.max-requeues} times.
+ */
+@Slf4j
+@Service
+public class UserSyncService {
+
+  private final UserService userService;
+  private final UserSyncProperties properties;
+  private final ErrorMetrics errorMetrics;
+  private final BackgroundThreads backgroundThreads;
+
+  private final BlockingQueue<String> queue;
+  private final ConcurrentMap<String, ExternalAuthRequest> pending = new ConcurrentHashMap<>();
+  private final Cache<String, Boolean> recentlySynced;
+  private final ConcurrentMap<String, Integer> requeues = new ConcurrentHashMap<>();
+  private final AtomicBoolean batchEndpoint;
+
+  private final Counter queued;
+  private final Counter deduplicated;
+  private final Counter coalesced;
+  private final Counter dropped;
+  private final Counter requeued;
+  private final Counter abandoned;
+  private final Counter synced;
+  private final Counter failed;
+
+  private Thread worker;
+  private volatile boolean running;
+
+  public UserSyncService(
+      UserService userService,
+      UserSyncProperties properties,
+      ErrorMetrics errorMetrics,
+      BackgroundThreads backgroundThreads,
+      MeterRegistry meterRegistry) {
+    this.userService = userService;
+    this.properties = properties;
+    this.errorMetrics = errorMetrics;
+    this.backgroundThreads = backgroundThreads;
+    this.queue = new LinkedBlockingQueue<>(properties.getQueueCapacity());
+    this.recentlySynced =
+        Caffeine.newBuilder()
+            .maximumSize(properties.getRecentlySyncedMaxEntries())
+            .expireAfterWrite(properties.getRecentlySyncedTtl())
+            .build();
+    this.batchEndpoint = new AtomicBoolean(properties.isBatchEndpoint());
+
+    this.queued = meterRegistry.counter("user.sync.requests", "result", "queued");
+    this.deduplicated = meterRegistry.counter("user.sync.requests", "result", "deduplicated");
+    this.coalesced = meterRegistry.counter("user.sync.requests", "result", "coalesced");
+    this.dropped = meterRegistry.counter("user.sync.requests", "result", "dropped");
+    this.requeued = meterRegistry.counter("user.sync.requests", "result", "requeued");
+    this.abandoned = meterRegistry.counter("user.sync.requests", "result", "abandoned");
+    this.synced = meterRegistry.counter("user.sync.users", "outcome", "success");
+    this.failed = meterRegistry.counter("user.sync.users", "outcome", "failure");
+    meterRegistry.gauge("user.sync.queue.depth", queue, BlockingQueue::size);
+  }
+
+  /** Queues {@code request} for background sync; never blocks. */
+  public void submit(ExternalAuthRequest request) {
+    String key = request.getKeycloakId() != null ? request.getKeycloakId() : request.getEmail();
+    if (key == null) {
+      log.warn("Skipping user sync without keycloakId or email");
+      return;
+    }
+
+    if (recentlySynced.getIfPresent(key) != null) {
+      deduplicated.increment();
+      return;
+    }
+
+    if (pending.put(key, request) != null) {
+      coalesced.increment();
+      return;
+    }
+
+    if (queue.offer(key)) {
+      queued.increment();
+    } else {
+      pending.remove(key);
+      dropped.increment();
+      log.warn("User sync queue full, dropped sync for {}", request.getEmail());
+    }
+  }
+
+  @PostConstruct
+  void start() {
+    running = true;
+    worker = backgroundThreads.factory("user-sync").newThread(this::drainLoop);
+    worker.start();
+  }
+
+  @PreDestroy
+  void stop() throws InterruptedException {
+    running = false;
+    worker.interrupt();
+    worker.join(properties.getFlushInterval().toMillis() * 2);
+  }
+
+  private void drainLoop() {
+    List<String> keys = new ArrayList<>(properties.getBatchSize());
+    while (running) {
+      try {
+        String first = queue.poll(properties.getFlushInterval().toMillis(), TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        keys.add(first);
+        queue.drainTo(keys, properties.getBatchSize() - 1);
+        flush(keys);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (Exception e) {
+        log.error("User sync batch failed: {}", e.getMessage());
+        errorMetrics.swallowed("UserSyncService", "drain", e);
+      } finally {
+        keys.clear();
+      }
+    }
+  }
+
+  private void flush(List<String> keys) {
+    Map<String, ExternalAuthRequest> batch = new LinkedHashMap<>();
+    for (String key : keys) {
+      ExternalAuthRequest request = pending.remove(key);
+      if (request != null) {
+        batch.put(key, request);
+      }
+    }
+    if (batch.isEmpty()) {
+      return;
+    }
+
+    Set<String> failedKeys = batchEndpoint.get() ? sendBatch(batch) : sendEach(batch);
+    batch.forEach(
+        (key, request) -> {
+          if (failedKeys.contains(key)) {
+            requeue(key, request);
+          } else {
+            requeues.remove(key);
+            recentlySynced.put(key, Boolean.TRUE);
+          }
+        });
+
+    synced.increment(batch.size() - failedKeys.size());
+    failed.increment(failedKeys.size());
+    if (failedKeys.isEmpty()) {
+      log.info("Synced {} external users", batch.size());
+    } else {
+      log.error("Failed to sync {} of {} external users", failedKeys.size(), batch.size());
+    }
+  }
+
+  /** Sends the batch in one call; returns the keys that failed. */
+  private Set<String> sendBatch(Map<String, ExternalAuthRequest> batch) {
+    try {
+      userService
+          .registerExternalUsersAsync(List.copyOf(batch.values()))
+          .retryWhen(retry("batch of " + batch.size()))
+          .block();
+      return Set.of();
+    } catch (WebClientResponseException.NotFound | WebClientResponseException.MethodNotAllowed e) {
+      log.warn(
+          "user-service has no batch endpoint ({}), syncing users one at a time", e.getMessage());
+      batchEndpoint.set(false);
+      return sendEach(batch);
+    } catch (Exception e) {
+      errorMetrics.swallowed("UserSyncService", "flush", e);
+      return batch.keySet();
+    }
+  }
+
+  /** Sends one request per user, a few at a time; returns the keys that failed. */
+  private Set<String> sendEach(Map<String, ExternalAuthRequest> batch) {
+    Set<String> failedKeys = ConcurrentHashMap.newKeySet();
+    Flux.fromIterable(batch.entrySet())
+        .flatMap(
+            entry ->
+                userService
+                    .registerExternalUserAsync(entry.getValue())
+                    .retryWhen(retry(entry.getValue().getEmail()))
+                    .onErrorResume(
+                        e -> {
+                          failedKeys.add(entry.getKey());
+                          errorMetrics.swallowed("UserSyncService", "flush", e);
+                          return Mono.empty();
+                        }),
+            properties.getConcurrency())
+        .blockLast();
+    return failedKeys;
+  }
+
+  /** Backoff retries, except for 4xx answers, which a retry would only repeat. */
+  private Retry retry(String what) {
+    return Retry.backoff(properties.getMaxRetries(), properties.getRetryBackoff())
+        .filter(
+            e ->
+                !(e instanceof WebClientResponseException response
+                    && response.getStatusCode().is4xxClientError()))
+        .doBeforeRetry(
+            signal ->
+                log.warn(
+                    "Retrying user sync of {} (attempt {}): {}",
+                    what,
+                    signal.totalRetries() + 1,
+                    signal.failure().getMessage()));
+  }
+
+  /**
+   * Queues a failed user again, unless a newer login has queued them meanwhile (that request wins)
+   * or they have failed {@code user-sync.max-requeues} times; then the next login retries them.
+   */
+  private void requeue(String key, ExternalAuthRequest request) {
+    if (requeues.merge(key, 1, Integer::sum) > properties.getMaxRequeues()) {
+      requeues.remove(key);
+      abandoned.increment();
+      log.warn("Giving up syncing {} until their next login", request.getEmail());
+      return;
+    }
+    if (pending.putIfAbsent(key, request) != null) {
+      return;
+    }
+    if (queue.offer(key)) {
+      requeued.increment();
+    } else {
+      pending.remove(key);
+      requeues.remove(key);
+      dropped.increment();
+    }
+  }
+}
@@ -0,0 +1,262 @@
+package com.shikshaspace.shikshaspaceui.views.explore;
+
+import com.shikshaspace.shikshaspaceui.component.TopicCard;
+import com.shikshaspace.shikshaspaceui.components.NavBar;
+import com.shikshaspace.shikshaspaceui.constants.Routes;
+import com.shikshaspace.shikshaspaceui.dto.SpaceSearchResult;
+import com.shikshaspace.shikshaspaceui.metrics.ViewMetrics;
+import com.shikshaspace.shikshaspaceui.security.SecurityUtils;
+import com.shikshaspace.shikshaspaceui.service.SpaceSearchIndex;
+import com.shikshaspace.shikshaspaceui.service.SpaceService;
+import com.shikshaspace.shikshaspaceui.service.UserService;
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.html.H1;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.icon.VaadinIcon;
+import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.value.ValueChangeMode;
+import com.vaadin.flow.router.PageTitle;
+import com.vaadin.flow.router.Route;
+import com.vaadin.flow.shared.Registration;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.security.PermitAll;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+
+/**
+ * Type-ahead search over the space catalog. Every keystroke (debounced on the client) is answered
+ * from {@link SpaceSearchIndex} without calling space-service.
+ */
+@Slf4j
+@Route(Routes.EXPLORE)
+@PageTitle("Explore - ShikshaSpace")
+@PermitAll
+public class ExploreView extends VerticalLayout {
+
+  private static final int PAGE_SIZE = 24;
+  private static final int SEARCH_DEBOUNCE_MS = 250;
+
+  private final SpaceSearchIndex searchIndex;
+  private final SpaceService spaceService;
+  private final SecurityUtils securityUtils;
+  private final ViewMetrics viewMetrics;
+
+  private final TextField searchField;
+  private final Div facets;
+  private final Span summary;
+  private final Div results;
+  private final Div pager;
+
+  private String query = "";
+  private String category;
+  private int page;
+  private transient Registration indexRegistration;
+  private transient Disposable indexSubscription;
+  private transient Disposable joinedSubscription;
+
+  public ExploreView(
+      SpaceSearchIndex searchIndex,
+      SpaceService spaceService,
+      SecurityUtils securityUtils,
+      UserService userService,
+      ViewMetrics viewMetrics) {
+    Timer.Sample buildSample = viewMetrics.start();
+    this.searchIndex = searchIndex;
+    this.spaceService = spaceService;
+    this.securityUtils = securityUtils;
+    this.viewMetrics = viewMetrics;
+
+    setPadding(false);
+    setSpacing(false);
+    setSizeFull();
+
+    NavBar navBar = new NavBar(securityUtils, userService, spaceService);
+
+    Div contentWrapper = new Div();
+    contentWrapper.addClassName("explore__content");
+
+    H1 title = new H1("Explore spaces");
+    title.addClassName("explore__title");
+
+    searchField = new TextField();
+    searchField.addClassName("explore__search");
+    searchField.setPlaceholder("Search by title, topic, category or host");
+    searchField.setPrefixComponent(VaadinIcon.SEARCH.create());
+    searchField.setClearButtonVisible(true);
+    searchField.setValueChangeMode(ValueChangeMode.LAZY);
+    searchField.setValueChangeTimeout(SEARCH_DEBOUNCE_MS);
+    searchField.setEnabled(false);
+    searchField.addValueChangeListener(
+        e -> {
+          query = e.getValue();
+          page = 0;
+          search();
+        });
+
+    facets = new Div();
+    facets.addClassName("explore__facets");
+
+    summary = new Span("Loading spaces...");
+    summary.addClassName("explore__summary");
+
+    results = new Div();
+    results.addClassName("home__topics-grid");
+
+    pager = new Div();
+    pager.addClassName("explore__pager");
+
+    contentWrapper.add(title, searchField, facets, summary, results, pager);
+
+    add(navBar, contentWrapper);
+    viewMetrics.stop(buildSample, "ExploreView");
+  }
+
+  @Override
+  protected void onAttach(AttachEvent attachEvent) {
+    super.onAttach(attachEvent);
+    UI ui = attachEvent.getUI();
+    indexRegistration = searchIndex.follow();
+    loadIndex(ui);
+    if (securityUtils.isUserLoggedIn() && spaceService.getCachedJoinedSpaces().isEmpty()) {
+      // Cards shown before the joined spaces are loaded pick up their joined state afterwards
+      joinedSubscription =
+          spaceService
+              .prefetchJoinedSpaces()
+              .subscribe(null, null, () -> ui.access(this::refreshJoined));
+    }
+  }
+
+  @Override
+  protected void onDetach(DetachEvent detachEvent) {
+    if (indexRegistration != null) {
+      indexRegistration.remove();
+      indexRegistration = null;
+    }
+    if (indexSubscription != null) {
+      indexSubscription.dispose();
+      indexSubscription = null;
+    }
+    if (joinedSubscription != null) {
+      joinedSubscription.dispose();
+      joinedSubscription = null;
+    }
+    super.onDetach(detachEvent);
+  }
+
+  private void loadIndex(UI ui) {
+    summary.setText("Loading spaces...");
+    pager.removeAll();
+    indexSubscription =
+        searchIndex
+            .ready()
+            .subscribe(
+                null,
+                error -> {
+                  log.error("Failed to load spaces for search: {}", error.getMessage());
+                  ui.access(() -> showError(ui));
+                },
+                () ->
+                    ui.access(
+                        () -> {
+                          searchField.setEnabled(true);
+                          searchField.focus();
+                          search();
+                        }));
+  }
+
+  private void refreshJoined() {
+    results
+        .getChildren()
+        .filter(TopicCard.class::isInstance)
+        .map(TopicCard.class::cast)
+        .forEach(TopicCard::refreshJoined);
+  }
+
+  private void search() {
+    SpaceSearchResult result = searchIndex.search(query, category, page, PAGE_SIZE);
+    showFacets(result);
+    showResults(result);
+    showPager(result);
+  }
+
+  private void showFacets(SpaceSearchResult result) {
+    facets.removeAll();
+    facets.add(createFacet("All", null));
+    result
+        .getCategoryCounts()
+        .forEach((name, count) -> facets.add(createFacet(name + " (" + count + ")", name)));
+  }
+
+  private Span createFacet(String label, String facetCategory) {
+    Span facet = new Span(label);
+    facet.addClassName("explore__facet");
+    boolean selected = facetCategory == null ? category == null : facetCategory.equals(category);
+    facet.setClassName("explore__facet--selected", selected);
+    facet.addClickListener(
+        e -> {
+          category = facetCategory;
+          page = 0;
+          search();
+        });
+    return facet;
+  }
+
+  private void showResults(SpaceSearchResult result) {
+    results.removeAll();
+    result
+        .getHits()
+        .forEach(
+            space ->
+                results.add(
+                    viewMetrics.time(
+                        "TopicCard", () -> new TopicCard(space, securityUtils, spaceService))));
+
+    int total = result.getTotalHits();
+    summary.setText(
+        total == 0 ? "No spaces match your search." : total + (total == 1 ? " space" : " spaces"));
+  }
+
+  private void showError(UI ui) {
+    summary.setText("We couldn't load spaces right now.");
+    Button retry = new Button("Try again", e -> loadIndex(ui));
+    retry.addClassName("home__topics-error-retry");
+    pager.removeAll();
+    pager.add(retry);
+  }
+
+  private void showPager(SpaceSearchResult result) {
+    pager.removeAll();
+    int pages = (result.getTotalHits() + PAGE_SIZE - 1) / PAGE_SIZE;
+    if (pages <= 1) {
+      return;
+    }
+
+    Button previous =
+        new Button(
+            "Previous",
+            e -> {
+              page--;
+              search();
+            });
+    previous.setEnabled(page > 0);
+
+    Span position = new Span("Page " + (page + 1) + " of " + pages);
+    position.addClassName("explore__pager-position");
+
+    Button next =
+        new Button(
+            "Next",
+            e -> {
+              page++;
+              search();
+            });
+    next.setEnabled(page + 1 < pages);
+
+    pager.add(previous, position, next);
+  }
+}
@@ -2,34 +2,106 @@ package com.shikshaspace.shikshaspaceui.views.home;
 
 import com.shikshaspace.shikshaspaceui.component.TopicCard;
 import com.shikshaspace.shikshaspaceui.components.NavBar;
-import com.shikshaspace.shikshaspaceui.dto.SpaceResponse;
+import com.shikshaspace.shikshaspaceui.config.SpaceStreamingProperties;
+import com.shikshaspace.shikshaspaceui.dto.SpaceChanges;
+import com.shikshaspace.shikshaspaceui.dto.SpacePage;
+import com.shikshaspace.shikshaspaceui.dto.SpaceSummary;
+import com.shikshaspace.shikshaspaceui.metrics.ErrorMetrics;
+import com.shikshaspace.shikshaspaceui.metrics.ViewMetrics;
 import com.shikshaspace.shikshaspaceui.security.SecurityUtils;
 import com.shikshaspace.shikshaspaceui.service.SpaceService;
+import com.shikshaspace.shikshaspaceui.service.SpaceUpdateBroadcaster;
+import com.shikshaspace.shikshaspaceui.service.UserService;
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.H1;
+import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.virtuallist.VirtualList;
+import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.data.provider.Query;
+import com.vaadin.flow.data.renderer.ComponentRenderer;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.server.Command;
+import com.vaadin.flow.shared.Registration;
+import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.security.PermitAll;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Mono;
 
+@Slf4j
 @Route("")
 @PageTitle("Home - ShikshaSpace")
 @PermitAll
 public class HomePage extends VerticalLayout {
 
+  private static final int SKELETON_CARD_COUNT = 6;
+
+  /** Cards per list row before the browser has reported its width; the desktop grid width. */
+  private static final int DEFAULT_CARDS_PER_ROW = 3;
+
+  private static final int PAGE_SIZE = 24;
+  private static final String SORT = "scheduledAt,asc";
+
   private final SpaceService spaceService;
   private final SecurityUtils securityUtils;
+  private final ViewMetrics viewMetrics;
+  private final ErrorMetrics errorMetrics;
+  private final SpaceStreamingProperties streamingProperties;
 
-  public HomePage(SpaceService spaceService, SecurityUtils securityUtils) {
+  private final SpaceUpdateBroadcaster spaceUpdateBroadcaster;
+
+  private final Div topicsContainer;
+  private final Map<UUID, TopicCard> renderedCards = new HashMap<>();
+  private VirtualList<TopicsRow> topicsList;
+  private final Map<Integer, List<SpaceSummary>> loadedPages = new HashMap<>();
+  private final Set<Integer> loadingPages = new HashSet<>();
+  private int cardsPerRow = DEFAULT_CARDS_PER_ROW;
+  private Div streamedGrid;
+  private int streamedCount;
+  private long totalSpaces;
+  private transient Disposable spacesSubscription;
+  private transient Disposable joinedSubscription;
+  private transient Disposable.Composite pageLoads;
+  private transient Registration resizeRegistration;
+  private transient Registration updatesRegistration;
+
+  public HomePage(
+      SpaceService spaceService,
+      SecurityUtils securityUtils,
+      UserService userService,
+      SpaceUpdateBroadcaster spaceUpdateBroadcaster,
+      ViewMetrics viewMetrics,
+      ErrorMetrics errorMetrics,
+      SpaceStreamingProperties streamingProperties) {
+    Timer.Sample buildSample = viewMetrics.start();
     this.spaceService = spaceService;
     this.securityUtils = securityUtils;
+    this.spaceUpdateBroadcaster = spaceUpdateBroadcaster;
+    this.viewMetrics = viewMetrics;
+    this.errorMetrics = errorMetrics;
+    this.streamingProperties = streamingProperties;
 
     setPadding(false);
     setSpacing(false);
     setSizeFull();
 
-    NavBar navBar = new NavBar(securityUtils);
+    NavBar navBar = new NavBar(securityUtils, userService, spaceService);
 
     Div contentWrapper = new Div();
     contentWrapper.addClassName("home__content");
@@ -39,11 +111,40 @@ public class HomePage extends VerticalLayout {
 
     Div userInfoCard = createUserInfoCard();
 
-    Div topicsGrid = createTopicsGrid();
+    topicsContainer = new Div();
+    topicsContainer.addClassName("home__topics");
 
-    contentWrapper.add(welcomeTitle, userInfoCard, topicsGrid);
+    contentWrapper.add(welcomeTitle, userInfoCard, topicsContainer);
 
     add(navBar, contentWrapper);
+    viewMetrics.stop(buildSample, "HomePage");
+  }
+
+  @Override
+  protected void onAttach(AttachEvent attachEvent) {
+    super.onAttach(attachEvent);
+    loadTopics(attachEvent.getUI());
+    loadJoinedState(attachEvent.getUI());
+    followWindowWidth(attachEvent.getUI());
+    updatesRegistration = spaceUpdateBroadcaster.register(attachEvent.getUI(), this::applyChanges);
+  }
+
+  @Override
+  protected void onDetach(DetachEvent detachEvent) {
+    cancelLoading();
+    if (joinedSubscription != null) {
+      joinedSubscription.dispose();
+      joinedSubscription = null;
+    }
+    if (updatesRegistration != null) {
+      updatesRegistration.remove();
+      updatesRegistration = null;
+    }
+    if (resizeRegistration != null) {
+      resizeRegistration.remove();
+      resizeRegistration = null;
+    }
+    super.onDetach(detachEvent);
   }
 
   private Div createUserInfoCard() {
@@ -63,25 +164,348 @@ public class HomePage extends VerticalLayout {
   private Div createTopicsGrid() {
     Div grid = new Div();
     grid.addClassName("home__topics-grid");
+    return grid;
+  }
 
-    List<SpaceResponse> spaces = spaceService.getAllSpaces();
-
-    if (spaces != null && !spaces.isEmpty()) {
-      spaces.forEach(space -> grid.add(new TopicCard(space, securityUtils, spaceService)));
+  /**
+   * Loads spaces off the request thread and swaps them in under {@link UI#access} once they arrive,
+   * so the page shell is sent to the browser without waiting on space-service.
+   */
+  private void loadTopics(UI ui) {
+    cancelLoading();
+    showSkeleton();
+    if (streamingProperties.isEnabled()) {
+      streamTopics(ui);
     } else {
-      for (int i = 0; i < 6; i++) {
-        grid.add(
-            new TopicCard(
-                SpaceResponse.builder()
-                    .title("Sample Topic " + (i + 1))
-                    .subtitle("Sample description")
-                    .hostUsername("user")
-                    .build(),
-                securityUtils,
-                spaceService));
+      loadFirstPage(ui);
+    }
+  }
+
+  /**
+   * Cards read their joined state from the session's joined spaces. The first time they are not
+   * loaded yet, so cards rendered before the load completes are refreshed once it does.
+   */
+  private void loadJoinedState(UI ui) {
+    if (!securityUtils.isUserLoggedIn() || spaceService.getCachedJoinedSpaces().isPresent()) {
+      return;
+    }
+    joinedSubscription =
+        spaceService
+            .prefetchJoinedSpaces()
+            .subscribe(
+                null,
+                null,
+                () -> ui.access(() -> renderedCards.values().forEach(TopicCard::refreshJoined)));
+  }
+
+  private void loadFirstPage(UI ui) {
+    spacesSubscription =
+        spaceService
+            .getSpacesPage(0, PAGE_SIZE, SORT)
+            .subscribe(
+                firstPage -> ui.access(() -> showTopics(firstPage)),
+                error -> {
+                  log.error("Failed to load spaces: {}", error.getMessage());
+                  ui.access(() -> showError(ui));
+                });
+  }
+
+  /**
+   * Streaming mode: appends cards in small batches as space-service's response is decoded, each
+   * batch pushed to the browser on its own. The next batch is only requested once the previous one
+   * has been applied under {@link UI#access}, so a large catalog is never held in memory at once.
+   */
+  private void streamTopics(UI ui) {
+    streamedGrid = null;
+    streamedCount = 0;
+
+    spacesSubscription =
+        spaceService
+            .streamSpaces(SORT)
+            .take(streamingProperties.getMaxCards())
+            .bufferTimeout(
+                streamingProperties.getBatchSize(), streamingProperties.getBatchDelay(), true)
+            .concatMap(batch -> applyInUi(ui, () -> appendTopics(batch)), 1)
+            .subscribe(
+                null,
+                error -> {
+                  log.error("Failed to stream spaces: {}", error.getMessage());
+                  ui.access(() -> finishStreaming(ui, error));
+                },
+                () -> ui.access(() -> finishStreaming(ui, null)));
+  }
+
+  private Mono<Void> applyInUi(UI ui, Command command) {
+    return Mono.create(
+        sink ->
+            ui.access(
+                () -> {
+                  command.execute();
+                  sink.success();
+                }));
+  }
+
+  private void appendTopics(List<SpaceSummary> batch) {
+    if (streamedGrid == null) {
+      topicsContainer.removeAll();
+      topicsList = null;
+      streamedGrid = createTopicsGrid();
+      topicsContainer.add(streamedGrid);
+    }
+    batch.forEach(space -> streamedGrid.add(createTopicCard(space)));
+    streamedCount += batch.size();
+  }
+
+  private void finishStreaming(UI ui, Throwable error) {
+    if (streamedGrid == null) {
+      if (error != null) {
+        // The paged path is cached and can fall back to the last known good catalog
+        loadFirstPage(ui);
+      } else {
+        showTopics(SpacePage.builder().content(List.of()).totalElements(0L).build());
       }
+      return;
+    }
+    if (error != null) {
+      errorMetrics.swallowed("HomePage", "streamTopics", error);
+    }
+    if (streamedCount >= streamingProperties.getMaxCards()) {
+      Span more = new Span("Showing the first " + streamedCount + " spaces.");
+      more.addClassName("home__topics-more");
+      topicsContainer.add(more);
+    }
+  }
+
+  private void cancelLoading() {
+    if (spacesSubscription != null) {
+      spacesSubscription.dispose();
+      spacesSubscription = null;
     }
+    if (pageLoads != null) {
+      pageLoads.dispose();
+      pageLoads = null;
+    }
+    loadedPages.clear();
+    loadingPages.clear();
+  }
+
+  private void showSkeleton() {
+    Div grid = createTopicsGrid();
+    for (int i = 0; i < SKELETON_CARD_COUNT; i++) {
+      Div skeleton = new Div();
+      skeleton.addClassNames("topic-card", "topic-card--skeleton");
+      grid.add(skeleton);
+    }
+    topicsContainer.removeAll();
+    topicsContainer.add(grid);
+  }
+
+  private void showTopics(SpacePage firstPage) {
+    topicsContainer.removeAll();
+    topicsList = null;
+
+    if (firstPage.getContent().isEmpty()) {
+      Span empty = new Span("No spaces have been scheduled yet.");
+      empty.addClassName("home__topics-empty");
+      topicsContainer.add(empty);
+      return;
+    }
+
+    totalSpaces = firstPage.getTotalElements();
+    loadedPages.put(0, firstPage.getContent());
+    topicsList = createTopicsList();
+    topicsContainer.add(topicsList);
+  }
+
+  /**
+   * Applies pushed catalog changes: visible cards are updated in place, and additions or removals
+   * re-size the list and re-fetch the held pages, whose catalog size then replaces the estimate.
+   */
+  private void applyChanges(SpaceChanges changes) {
+    changes
+        .getUpdated()
+        .forEach(
+            space -> {
+              TopicCard card = renderedCards.get(space.getId());
+              if (card != null) {
+                card.update(space);
+              }
+            });
 
+    if (changes.isStructural() && topicsList != null) {
+      totalSpaces =
+          Math.max(0, totalSpaces + changes.getAdded().size() - changes.getRemoved().size());
+      topicsList.getDataProvider().refreshAll();
+      // Held pages are shifted now; keep showing them until their reloads arrive
+      List.copyOf(loadedPages.keySet()).forEach(this::fetchPage);
+    }
+  }
+
+  /**
+   * Rows of cards rendered by a {@link VirtualList}: only rows in the visible window exist as
+   * components. Rows are cut from the catalog pages this view holds; a row whose page is still
+   * loading shows skeleton cards until it arrives.
+   */
+  private VirtualList<TopicsRow> createTopicsList() {
+    VirtualList<TopicsRow> list = new VirtualList<>();
+    list.addClassName("home__topics-list");
+    list.setRenderer(new ComponentRenderer<>(this::createTopicsRow));
+    list.setDataProvider(
+        DataProvider.fromCallbacks(
+            this::fetchRows, query -> (int) ((totalSpaces + cardsPerRow - 1) / cardsPerRow)));
+    return list;
+  }
+
+  private Div createTopicsRow(TopicsRow row) {
+    Div grid = createTopicsGrid();
+    grid.addClassName("home__topics-row");
+    if (row.spaces() == null) {
+      for (int i = 0; i < cardsPerRow; i++) {
+        Div skeleton = new Div();
+        skeleton.addClassNames("topic-card", "topic-card--skeleton");
+        grid.add(skeleton);
+      }
+    } else {
+      row.spaces().forEach(space -> grid.add(createTopicCard(space)));
+    }
     return grid;
   }
+
+  private TopicCard createTopicCard(SpaceSummary space) {
+    TopicCard card =
+        viewMetrics.time("TopicCard", () -> new TopicCard(space, securityUtils, spaceService));
+    if (space.getId() != null) {
+      renderedCards.put(space.getId(), card);
+      card.addDetachListener(e -> renderedCards.remove(space.getId(), card));
+    }
+    return card;
+  }
+
+  /**
+   * Maps the list's row window onto catalog pages. Runs under the session lock, so it never waits
+   * on space-service: rows come from {@link #loadedPages}, and missing pages, plus the one after
+   * the window, are fetched in the background and pushed in by {@link #fetchPage}.
+   */
+  private Stream<TopicsRow> fetchRows(Query<TopicsRow, Void> query) {
+    int firstRow = query.getOffset();
+    int end = (int) Math.min((long) (firstRow + query.getLimit()) * cardsPerRow, totalSpaces);
+
+    List<TopicsRow> rows = new ArrayList<>();
+    for (int from = firstRow * cardsPerRow; from < end; from += cardsPerRow) {
+      rows.add(new TopicsRow(from / cardsPerRow, slice(from, Math.min(from + cardsPerRow, end))));
+    }
+    if (end < totalSpaces) {
+      loadPage(end / PAGE_SIZE);
+    }
+    return rows.stream();
+  }
+
+  /** Spaces {@code from} to {@code to} of the catalog, or null if a page they span is missing. */
+  private List<SpaceSummary> slice(int from, int to) {
+    List<SpaceSummary> spaces = new ArrayList<>(to - from);
+    for (int index = from; index < to; index++) {
+      List<SpaceSummary> page = loadedPages.get(index / PAGE_SIZE);
+      if (page == null) {
+        loadPage(index / PAGE_SIZE);
+        return null;
+      }
+      if (index % PAGE_SIZE < page.size()) {
+        spaces.add(page.get(index % PAGE_SIZE));
+      }
+    }
+    return List.copyOf(spaces);
+  }
+
+  private void loadPage(int page) {
+    if (!loadedPages.containsKey(page) && !loadingPages.contains(page)) {
+      fetchPage(page);
+    }
+  }
+
+  /**
+   * Fetches a catalog page off the session lock and, under {@link UI#access}, stores it and
+   * refreshes the list. Every page carries the catalog size, so the list is re-sized to it and an
+   * estimate adjusted by pushed changes cannot drift. A failed page is left out; scrolling back to
+   * it tries again.
+   */
+  private void fetchPage(int page) {
+    UI ui = getUI().orElse(null);
+    if (ui == null || !loadingPages.add(page)) {
+      return;
+    }
+    if (pageLoads == null) {
+      pageLoads = Disposables.composite();
+    }
+    pageLoads.add(
+        spaceService
+            .getSpacesPage(page, PAGE_SIZE, SORT)
+            .subscribe(
+                result ->
+                    ui.access(
+                        () -> {
+                          loadingPages.remove(page);
+                          loadedPages.put(page, result.getContent());
+                          totalSpaces = result.getTotalElements();
+                          if (topicsList != null) {
+                            topicsList.getDataProvider().refreshAll();
+                          }
+                        }),
+                error -> {
+                  log.error("Failed to load spaces page {}: {}", page, error.getMessage());
+                  errorMetrics.swallowed("HomePage", "fetchPage", error);
+                  ui.access(() -> loadingPages.remove(page));
+                }));
+  }
+
+  /**
+   * Keeps {@link #cardsPerRow} equal to the number of columns the responsive grid shows at the
+   * browser's current width, so list rows line up with it.
+   */
+  private void followWindowWidth(UI ui) {
+    ui.getPage()
+        .retrieveExtendedClientDetails(
+            details -> setCardsPerRow(cardsPerRowFor(details.getWindowInnerWidth())));
+    resizeRegistration =
+        ui.getPage()
+            .addBrowserWindowResizeListener(e -> setCardsPerRow(cardsPerRowFor(e.getWidth())));
+  }
+
+  /** Mirrors the {@code .home__topics-grid} breakpoints in home-page.css. */
+  private static int cardsPerRowFor(int windowWidth) {
+    if (windowWidth <= 0) {
+      return DEFAULT_CARDS_PER_ROW;
+    }
+    if (windowWidth <= 640) {
+      return 1;
+    }
+    return windowWidth <= 1024 ? 2 : 3;
+  }
+
+  private void setCardsPerRow(int columns) {
+    if (columns != cardsPerRow) {
+      cardsPerRow = columns;
+      if (topicsList != null) {
+        topicsList.getDataProvider().refreshAll();
+      }
+    }
+  }
+
+  private void showError(UI ui) {
+    topicsContainer.removeAll();
+
+    Div error = new Div();
+    error.addClassName("home__topics-error");
+
+    Span message = new Span("We couldn't load spaces right now.");
+    message.addClassName("home__topics-error-message");
+
+    Button retry = new Button("Try again", e -> loadTopics(ui));
+    retry.addClassName("home__topics-error-retry");
+
+    error.add(message, retry);
+    topicsContainer.add(error);
+  }
+
+  /** One list row; {@code spaces} is null while its page is loading. */
+  private record TopicsRow(int index, List<SpaceSummary> spaces) implements Serializable {}
 }
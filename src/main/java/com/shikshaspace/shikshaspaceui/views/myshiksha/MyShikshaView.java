@@ -0,0 +1,150 @@
+package com.shikshaspace.shikshaspaceui.views.myshiksha;
+
+import com.shikshaspace.shikshaspaceui.component.TopicCard;
+import com.shikshaspace.shikshaspaceui.components.NavBar;
+import com.shikshaspace.shikshaspaceui.constants.Routes;
+import com.shikshaspace.shikshaspaceui.dto.SpaceSummary;
+import com.shikshaspace.shikshaspaceui.metrics.ViewMetrics;
+import com.shikshaspace.shikshaspaceui.security.SecurityUtils;
+import com.shikshaspace.shikshaspaceui.service.SpaceService;
+import com.shikshaspace.shikshaspaceui.service.UserService;
+import com.shikshaspace.shikshaspaceui.views.explore.ExploreView;
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.button.Button;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.html.H1;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.router.PageTitle;
+import com.vaadin.flow.router.Route;
+import com.vaadin.flow.router.RouterLink;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.security.PermitAll;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+
+/**
+ * The spaces the logged-in user has joined. They come from the session's joined spaces (see {@link
+ * SpaceService#getJoinedSpaces()}), which the navbar starts loading when its menu is opened, so the
+ * page usually renders without calling space-service.
+ */
+@Slf4j
+@Route(Routes.MY_SHIKSHA)
+@PageTitle("My ShikshaSpace - ShikshaSpace")
+@PermitAll
+public class MyShikshaView extends VerticalLayout {
+
+  private final SpaceService spaceService;
+  private final SecurityUtils securityUtils;
+  private final ViewMetrics viewMetrics;
+
+  private final Span summary;
+  private final Div spaces;
+  private transient Disposable joinedSubscription;
+
+  public MyShikshaView(
+      SpaceService spaceService,
+      SecurityUtils securityUtils,
+      UserService userService,
+      ViewMetrics viewMetrics) {
+    Timer.Sample buildSample = viewMetrics.start();
+    this.spaceService = spaceService;
+    this.securityUtils = securityUtils;
+    this.viewMetrics = viewMetrics;
+
+    setPadding(false);
+    setSpacing(false);
+    setSizeFull();
+
+    NavBar navBar = new NavBar(securityUtils, userService, spaceService);
+
+    Div contentWrapper = new Div();
+    contentWrapper.addClassName("my-shiksha__content");
+
+    H1 title = new H1("My ShikshaSpace");
+    title.addClassName("my-shiksha__title");
+
+    summary = new Span();
+    summary.addClassName("my-shiksha__summary");
+
+    spaces = new Div();
+
+    contentWrapper.add(title, summary, spaces);
+
+    add(navBar, contentWrapper);
+    viewMetrics.stop(buildSample, "MyShikshaView");
+  }
+
+  @Override
+  protected void onAttach(AttachEvent attachEvent) {
+    super.onAttach(attachEvent);
+    spaceService
+        .getCachedJoinedSpaces()
+        .ifPresentOrElse(this::showSpaces, () -> loadSpaces(attachEvent.getUI()));
+  }
+
+  @Override
+  protected void onDetach(DetachEvent detachEvent) {
+    cancelLoading();
+    super.onDetach(detachEvent);
+  }
+
+  private void loadSpaces(UI ui) {
+    cancelLoading();
+    summary.setText("Loading your spaces...");
+    spaces.removeAll();
+    joinedSubscription =
+        spaceService
+            .getJoinedSpaces()
+            .defaultIfEmpty(List.of())
+            .subscribe(
+                joined -> ui.access(() -> showSpaces(joined)),
+                error -> {
+                  log.error("Failed to load joined spaces: {}", error.getMessage());
+                  ui.access(() -> showError(ui));
+                });
+  }
+
+  private void cancelLoading() {
+    if (joinedSubscription != null) {
+      joinedSubscription.dispose();
+      joinedSubscription = null;
+    }
+  }
+
+  private void showSpaces(List<SpaceSummary> joined) {
+    spaces.removeAll();
+    if (joined.isEmpty()) {
+      summary.setText("");
+      Div empty = new Div();
+      empty.addClassName("my-shiksha__empty");
+      empty.add(
+          new Span("You haven't joined any spaces yet."),
+          new RouterLink("Explore spaces", ExploreView.class));
+      spaces.add(empty);
+      return;
+    }
+
+    summary.setText(
+        "You have joined " + joined.size() + (joined.size() == 1 ? " space" : " spaces"));
+    Div grid = new Div();
+    grid.addClassName("home__topics-grid");
+    joined.forEach(
+        space ->
+            grid.add(
+                viewMetrics.time(
+                    "TopicCard", () -> new TopicCard(space, securityUtils, spaceService))));
+    spaces.add(grid);
+  }
+
+  private void showError(UI ui) {
+    summary.setText("We couldn't load your spaces right now.");
+    Button retry = new Button("Try again", e -> loadSpaces(ui));
+    retry.addClassName("home__topics-error-retry");
+    spaces.removeAll();
+    spaces.add(retry);
+  }
+}
@@ -0,0 +1,242 @@
+package com.shikshaspace.shikshaspaceui.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import com.shikshaspace.shikshaspaceui.config.CacheProperties;
+import com.shikshaspace.shikshaspaceui.dto.SpacePage;
+import com.shikshaspace.shikshaspaceui.dto.SpaceSummary;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+class SpaceCatalogCacheTest {
+
+  private static final String SPACES = "/api/v1/spaces?view=summary";
+
+  private final SpaceSummary intro = space("Intro to Java");
+  private final SpaceSummary streams = space("Java Streams");
+
+  private final List<ClientRequest> requests = new CopyOnWriteArrayList<>();
+  private volatile Function<ClientRequest, ClientResponse> backend;
+
+  private CacheProperties cacheProperties;
+  private SimpleMeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    cacheProperties = new CacheProperties();
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  void servesCachedCatalogWithoutRefetching() {
+    SpaceCatalogCache cache = create();
+    backend = request -> ok("\"v1\"", intro, streams);
+
+    assertThat(cache.get(SPACES, SpaceSummary.class).block()).containsExactly(intro, streams);
+    assertThat(cache.get(SPACES, SpaceSummary.class).block()).containsExactly(intro, streams);
+
+    assertThat(requests).hasSize(1);
+    assertThat(fetches("loaded")).isEqualTo(1);
+  }
+
+  @Test
+  void readsTotalCountHeader() {
+    SpaceCatalogCache cache = create();
+
+    backend = request -> withTotalCount("42", intro);
+    SpacePage page = cache.getPage("/api/v1/spaces?view=summary&page=0&size=1").block();
+    assertThat(page.getContent()).containsExactly(intro);
+    assertThat(page.getTotalElements()).isEqualTo(42);
+
+    backend = request -> withTotalCount("lots", intro);
+    assertThat(cache.getPage("/api/v1/spaces?view=summary&page=1&size=1").block())
+        .extracting(SpacePage::getTotalElements)
+        .isNull();
+
+    backend = request -> ok(null, intro);
+    assertThat(cache.getPage("/api/v1/spaces?view=summary&page=2&size=1").block())
+        .extracting(SpacePage::getTotalElements)
+        .isNull();
+  }
+
+  @Test
+  void revalidatesStaleEntryWithIfNoneMatch() throws InterruptedException {
+    cacheProperties.getSpaceCatalog().setTtl(Duration.ofMillis(50));
+    SpaceCatalogCache cache = create();
+    backend = request -> ok("\"v1\"", intro, streams);
+    cache.get(SPACES, SpaceSummary.class).block();
+    Thread.sleep(100);
+
+    backend = request -> ClientResponse.create(HttpStatus.NOT_MODIFIED).build();
+    // Served stale while the refresh runs
+    assertThat(cache.get(SPACES, SpaceSummary.class).block()).containsExactly(intro, streams);
+
+    await().untilAsserted(() -> assertThat(fetches("not_modified")).isEqualTo(1));
+    assertThat(requests.get(1).headers().getIfNoneMatch()).containsExactly("\"v1\"");
+    assertThat(cache.get(SPACES, SpaceSummary.class).block()).containsExactly(intro, streams);
+  }
+
+  @Test
+  void replacesStaleEntryWhenCatalogChanged() throws InterruptedException {
+    cacheProperties.getSpaceCatalog().setTtl(Duration.ofMillis(50));
+    SpaceCatalogCache cache = create();
+    backend = request -> ok("\"v1\"", intro, streams);
+    cache.get(SPACES, SpaceSummary.class).block();
+    Thread.sleep(100);
+
+    backend = request -> ok("\"v2\"", streams);
+    cache.get(SPACES, SpaceSummary.class).block();
+
+    await().untilAsserted(() -> assertThat(fetches("modified")).isEqualTo(1));
+    assertThat(cache.get(SPACES, SpaceSummary.class).block()).containsExactly(streams);
+  }
+
+  @Test
+  void keepsServingStaleEntryWhenRevalidationFails() throws InterruptedException {
+    cacheProperties.getSpaceCatalog().setTtl(Duration.ofMillis(50));
+    SpaceCatalogCache cache = create();
+    backend = request -> ok("\"v1\"", intro);
+    cache.get(SPACES, SpaceSummary.class).block();
+    Thread.sleep(100);
+
+    backend = request -> error(HttpStatus.SERVICE_UNAVAILABLE);
+    cache.get(SPACES, SpaceSummary.class).block();
+
+    await().untilAsserted(() -> assertThat(fetches("error")).isEqualTo(1));
+    assertThat(cache.get(SPACES, SpaceSummary.class).block()).containsExactly(intro);
+  }
+
+  @Test
+  void refreshRevalidatesImmediately() {
+    SpaceCatalogCache cache = create();
+    backend = request -> ok("\"v1\"", intro);
+    cache.get(SPACES, SpaceSummary.class).block();
+
+    backend = request -> ClientResponse.create(HttpStatus.NOT_MODIFIED).build();
+
+    assertThat(cache.refresh(SPACES, SpaceSummary.class).block()).containsExactly(intro);
+    assertThat(requests).hasSize(2);
+    assertThat(requests.get(1).headers().getIfNoneMatch()).containsExactly("\"v1\"");
+  }
+
+  @Test
+  void servesLastKnownGoodWhenLoadFails() {
+    SpaceCatalogCache cache = create();
+    backend = request -> ok("\"v1\"", intro, streams);
+    cache.get(SPACES, SpaceSummary.class).block();
+    cache.invalidateAll();
+
+    backend = request -> error(HttpStatus.SERVICE_UNAVAILABLE);
+
+    assertThat(cache.get(SPACES, SpaceSummary.class).block()).containsExactly(intro, streams);
+    assertThat(fetches("fallback")).isEqualTo(1);
+  }
+
+  @Test
+  void failsWithoutLastKnownGood() {
+    SpaceCatalogCache cache = create();
+    backend = request -> error(HttpStatus.SERVICE_UNAVAILABLE);
+
+    assertThatThrownBy(() -> cache.get(SPACES, SpaceSummary.class).block())
+        .isInstanceOf(WebClientResponseException.ServiceUnavailable.class);
+  }
+
+  @Test
+  void dropsLastKnownGoodAfterMaxStale() throws InterruptedException {
+    cacheProperties.getSpaceCatalog().setTtl(Duration.ofMillis(50));
+    cacheProperties.getSpaceCatalog().setMaxStale(Duration.ofMillis(100));
+    SpaceCatalogCache cache = create();
+    backend = request -> ok("\"v1\"", intro);
+    cache.get(SPACES, SpaceSummary.class).block();
+    Thread.sleep(200);
+
+    backend = request -> error(HttpStatus.SERVICE_UNAVAILABLE);
+
+    assertThatThrownBy(() -> cache.get(SPACES, SpaceSummary.class).block())
+        .isInstanceOf(WebClientResponseException.ServiceUnavailable.class);
+    assertThat(fetches("fallback")).isZero();
+  }
+
+  @Test
+  void invalidatePagesKeepsWholeCatalogs() {
+    SpaceCatalogCache cache = create();
+    backend = request -> ok(null, intro);
+    String page = "/api/v1/spaces?view=summary&page=0&size=10";
+    cache.get(SPACES, SpaceSummary.class).block();
+    cache.get(page, SpaceSummary.class).block();
+
+    cache.invalidatePages();
+    cache.get(SPACES, SpaceSummary.class).block();
+    cache.get(page, SpaceSummary.class).block();
+
+    assertThat(requests)
+        .extracting(request -> request.url().toString())
+        .containsExactly(SPACES, page, page);
+  }
+
+  private SpaceCatalogCache create() {
+    WebClient client =
+        WebClient.builder()
+            .exchangeFunction(
+                request -> {
+                  requests.add(request);
+                  return Mono.just(backend.apply(request));
+                })
+            .build();
+    return new SpaceCatalogCache(client, cacheProperties, meterRegistry);
+  }
+
+  private double fetches(String result) {
+    Counter counter =
+        meterRegistry.find("cache.space.catalog.fetch").tag("result", result).counter();
+    return counter != null ? counter.count() : 0;
+  }
+
+  private static ClientResponse ok(String etag, SpaceSummary... spaces) {
+    ClientResponse.Builder response =
+        ClientResponse.create(HttpStatus.OK)
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .body(json(spaces));
+    if (etag != null) {
+      response.header(HttpHeaders.ETAG, etag);
+    }
+    return response.build();
+  }
+
+  private static ClientResponse withTotalCount(String totalCount, SpaceSummary... spaces) {
+    return ok(null, spaces).mutate().header("X-Total-Count", totalCount).build();
+  }
+
+  private static ClientResponse error(HttpStatus status) {
+    return ClientResponse.create(status).build();
+  }
+
+  private static String json(SpaceSummary... spaces) {
+    return Arrays.stream(spaces)
+        .map(space -> "{\"id\":\"%s\",\"title\":\"%s\"}".formatted(space.getId(), space.getTitle()))
+        .collect(Collectors.joining(",", "[", "]"));
+  }
+
+  private static SpaceSummary space(String title) {
+    return SpaceSummary.builder().id(UUID.randomUUID()).title(title).build();
+  }
+}
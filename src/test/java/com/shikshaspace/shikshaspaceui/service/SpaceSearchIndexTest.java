@@ -0,0 +1,192 @@
+package com.shikshaspace.shikshaspaceui.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.shikshaspace.shikshaspaceui.dto.SpaceChanges;
+import com.shikshaspace.shikshaspaceui.dto.SpaceSearchResult;
+import com.shikshaspace.shikshaspaceui.dto.SpaceSummary;
+import com.vaadin.flow.shared.Registration;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+
+class SpaceSearchIndexTest {
+
+  private static final LocalDateTime MONDAY = LocalDateTime.of(2026, 3, 2, 18, 0);
+
+  private final SpaceSummary javaScript =
+      space("JavaScript for Artists", null, "Art", "carol", MONDAY);
+  private final SpaceSummary introJava =
+      space("Intro to Java", "Basics", "Programming", "alice", MONDAY.plusDays(1));
+  private final SpaceSummary javaStreams =
+      space("Advanced Java Streams", "Collections", "Programming", "bob", MONDAY.plusDays(2));
+  private final SpaceSummary watercolor =
+      space("Watercolor Landscapes", "Painting outdoors", "Art", "alice", MONDAY.plusDays(3));
+
+  private SpaceService spaceService;
+  private SpaceUpdateBroadcaster broadcaster;
+  private Registration catalogRegistration;
+  private SpaceSearchIndex index;
+
+  @BeforeEach
+  void setUp() {
+    spaceService = mock(SpaceService.class);
+    broadcaster = mock(SpaceUpdateBroadcaster.class);
+    catalogRegistration = mock(Registration.class);
+    when(spaceService.getSpaceSummaries())
+        .thenReturn(Mono.just(List.of(watercolor, javaStreams, introJava, javaScript)));
+    when(broadcaster.addCatalogListener(any())).thenReturn(catalogRegistration);
+    index = new SpaceSearchIndex(spaceService, broadcaster, new SimpleMeterRegistry());
+  }
+
+  @Test
+  void blankQueryMatchesEverythingInScheduleOrder() {
+    index.ready().block();
+
+    SpaceSearchResult result = index.search("  ", null, 0, 10);
+
+    assertThat(result.getHits()).containsExactly(javaScript, introJava, javaStreams, watercolor);
+    assertThat(result.getTotalHits()).isEqualTo(4);
+    assertThat(result.getCategoryCounts())
+        .containsExactly(entry("Art", 2), entry("Programming", 2));
+  }
+
+  @Test
+  void everyWordMustPrefixSomeTerm() {
+    index.ready().block();
+
+    assertThat(index.search("jav", null, 0, 10).getHits())
+        .containsExactly(javaScript, introJava, javaStreams);
+    assertThat(index.search("JAVA Alice", null, 0, 10).getHits()).containsExactly(introJava);
+    assertThat(index.search("java, adv", null, 0, 10).getHits()).containsExactly(javaStreams);
+    assertThat(index.search("java outdoors", null, 0, 10).getTotalHits()).isZero();
+  }
+
+  @Test
+  void categoryNarrowsHitsButNotCounts() {
+    index.ready().block();
+
+    SpaceSearchResult result = index.search("java", "Art", 0, 10);
+
+    assertThat(result.getHits()).containsExactly(javaScript);
+    assertThat(result.getTotalHits()).isEqualTo(1);
+    assertThat(result.getCategoryCounts())
+        .containsExactly(entry("Art", 1), entry("Programming", 2));
+  }
+
+  @Test
+  void pagesThroughHitsInScheduleOrder() {
+    index.ready().block();
+
+    assertThat(index.search("", null, 0, 3).getHits())
+        .containsExactly(javaScript, introJava, javaStreams);
+    assertThat(index.search("", null, 1, 3).getHits()).containsExactly(watercolor);
+    assertThat(index.search("", "Programming", 1, 1).getHits()).containsExactly(javaStreams);
+    assertThat(index.search("", null, 2, 3).getHits()).isEmpty();
+  }
+
+  @Test
+  void appliesPolledChangesOneSpaceAtATime() {
+    SpaceUpdateBroadcaster.CatalogListener listener = follow();
+    listener.catalogPolled(List.of(javaScript, introJava, javaStreams, watercolor), null);
+
+    SpaceSummary oilLandscapes =
+        SpaceSummary.builder()
+            .id(watercolor.getId())
+            .title("Oil Landscapes")
+            .subtitle(watercolor.getSubtitle())
+            .category(watercolor.getCategory())
+            .hostUsername(watercolor.getHostUsername())
+            .scheduledAt(watercolor.getScheduledAt())
+            .build();
+    SpaceSummary kotlin =
+        space("Kotlin Coroutines", null, "Programming", "dave", MONDAY.minusDays(1));
+    listener.catalogPolled(
+        List.of(kotlin, javaScript, introJava, oilLandscapes),
+        SpaceChanges.builder()
+            .added(List.of(kotlin))
+            .updated(List.of(oilLandscapes))
+            .removed(Set.of(javaStreams.getId()))
+            .build());
+
+    assertThat(index.search("", null, 0, 10).getHits())
+        .containsExactly(kotlin, javaScript, introJava, oilLandscapes);
+    assertThat(index.search("java", null, 0, 10).getHits()).containsExactly(javaScript, introJava);
+    assertThat(index.search("watercolor", null, 0, 10).getTotalHits()).isZero();
+    assertThat(index.search("oil", null, 0, 10).getHits()).containsExactly(oilLandscapes);
+    assertThat(index.search("bob", null, 0, 10).getTotalHits()).isZero();
+    assertThat(index.search("", null, 0, 10).getCategoryCounts())
+        .containsExactly(entry("Art", 2), entry("Programming", 2));
+    verify(spaceService, never()).getSpaceSummaries();
+  }
+
+  @Test
+  void firstPollReplacesIndexLoadedFromCache() {
+    index.ready().block();
+    SpaceUpdateBroadcaster.CatalogListener listener = follow();
+
+    // Diffs are taken against the broadcaster's previous snapshot, which the cached catalog may
+    // not match, so they are not applied until the index holds a polled catalog
+    listener.catalogPolled(
+        List.of(introJava, watercolor),
+        SpaceChanges.builder().removed(Set.of(javaStreams.getId())).build());
+
+    assertThat(index.search("", null, 0, 10).getHits()).containsExactly(introJava, watercolor);
+  }
+
+  @Test
+  void lastUnfollowStopsListeningAndNextReadyReloads() {
+    Registration first = index.follow();
+    Registration second = index.follow();
+    verify(broadcaster, times(1)).addCatalogListener(any());
+    index.ready().block();
+
+    first.remove();
+    first.remove();
+    verify(catalogRegistration, never()).remove();
+    index.ready().block();
+    verify(spaceService, times(1)).getSpaceSummaries();
+
+    second.remove();
+    verify(catalogRegistration).remove();
+    index.ready().block();
+    verify(spaceService, times(2)).getSpaceSummaries();
+  }
+
+  private SpaceUpdateBroadcaster.CatalogListener follow() {
+    index.follow();
+    ArgumentCaptor<SpaceUpdateBroadcaster.CatalogListener> listener =
+        ArgumentCaptor.forClass(SpaceUpdateBroadcaster.CatalogListener.class);
+    verify(broadcaster).addCatalogListener(listener.capture());
+    return listener.getValue();
+  }
+
+  private static Map.Entry<String, Integer> entry(String category, int count) {
+    return Map.entry(category, count);
+  }
+
+  private static SpaceSummary space(
+      String title, String subtitle, String category, String host, LocalDateTime scheduledAt) {
+    return SpaceSummary.builder()
+        .id(UUID.randomUUID())
+        .title(title)
+        .subtitle(subtitle)
+        .category(category)
+        .hostUsername(host)
+        .scheduledAt(scheduledAt)
+        .build();
+  }
+}
@@ -0,0 +1,210 @@
+package com.shikshaspace.shikshaspaceui.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.shikshaspace.shikshaspaceui.config.BackgroundThreads;
+import com.shikshaspace.shikshaspaceui.config.SpaceUpdatesProperties;
+import com.shikshaspace.shikshaspaceui.dto.SpaceChanges;
+import com.shikshaspace.shikshaspaceui.dto.SpaceSummary;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
+import com.vaadin.flow.server.Command;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import reactor.core.publisher.Mono;
+
+class SpaceUpdateBroadcasterTest {
+
+  private static final Duration THROTTLE = Duration.ofMillis(300);
+
+  private final SpaceSummary intro = space("Intro to Java");
+  private final SpaceSummary streams = space("Java Streams");
+  private final SpaceSummary watercolor = space("Watercolor");
+
+  private final BlockingQueue<SpaceChanges> pushed = new LinkedBlockingQueue<>();
+  private final List<Long> pushNanos = new ArrayList<>();
+
+  private SpaceService spaceService;
+  private SimpleMeterRegistry meterRegistry;
+  private SpaceUpdatesProperties properties;
+  private SpaceUpdateBroadcaster broadcaster;
+  private UI ui;
+
+  @BeforeEach
+  void setUp() {
+    spaceService = mock(SpaceService.class);
+    meterRegistry = new SimpleMeterRegistry();
+    properties = new SpaceUpdatesProperties();
+    properties.setUiThrottle(THROTTLE);
+    broadcaster =
+        new SpaceUpdateBroadcaster(
+            spaceService, properties, new BackgroundThreads(new MockEnvironment()), meterRegistry);
+
+    ui = mock(UI.class);
+    when(ui.access(any()))
+        .thenAnswer(
+            invocation -> {
+              invocation.getArgument(0, Command.class).execute();
+              return null;
+            });
+  }
+
+  @AfterEach
+  void tearDown() {
+    broadcaster.stop();
+  }
+
+  @Test
+  void doesNotPollWithoutListeners() {
+    broadcaster.poll();
+
+    verify(spaceService, never()).refreshSpaceSummaries();
+  }
+
+  @Test
+  void firstPollOnlyTakesSnapshot() {
+    List<SpaceChanges> polled = new ArrayList<>();
+    broadcaster.addCatalogListener((catalog, changes) -> polled.add(changes));
+    broadcaster.register(ui, this::record);
+
+    poll(intro, streams);
+
+    assertThat(polled).containsExactly((SpaceChanges) null);
+    assertThat(pushed).isEmpty();
+    verify(spaceService, never()).invalidatePages();
+  }
+
+  @Test
+  void pushesDifferenceToPreviousPoll() throws InterruptedException {
+    broadcaster.register(ui, this::record);
+    poll(intro, streams);
+
+    SpaceSummary renamed = rename(intro, "Java for Beginners");
+    poll(renamed, watercolor);
+
+    SpaceChanges changes = nextPush();
+    assertThat(changes.getAdded()).containsExactly(watercolor);
+    assertThat(changes.getUpdated()).containsExactly(renamed);
+    assertThat(changes.getRemoved()).containsExactly(streams.getId());
+    verify(spaceService).invalidatePages();
+  }
+
+  @Test
+  void unchangedCatalogReachesCatalogListenersOnly() throws InterruptedException {
+    List<SpaceChanges> polled = new ArrayList<>();
+    broadcaster.addCatalogListener((catalog, changes) -> polled.add(changes));
+    broadcaster.register(ui, this::record);
+    poll(intro);
+    poll(intro);
+
+    assertThat(polled).hasSize(2);
+    assertThat(polled.get(1).isEmpty()).isTrue();
+    assertThat(pushed.poll(THROTTLE.toMillis() * 2, TimeUnit.MILLISECONDS)).isNull();
+    verify(spaceService, never()).invalidatePages();
+  }
+
+  @Test
+  void mergesChangesWithinThrottleWindowIntoOnePush() throws InterruptedException {
+    broadcaster.register(ui, this::record);
+    poll(intro);
+    poll(intro, streams);
+    assertThat(nextPush().getAdded()).containsExactly(streams);
+
+    SpaceSummary renamed = rename(intro, "Java for Beginners");
+    SpaceSummary restored = rename(streams, "Java Streams, Part 2");
+    SpaceSummary scratch = space("Scratch");
+    poll(intro, streams, scratch);
+    poll(renamed, streams);
+    poll(renamed, watercolor);
+    poll(renamed, watercolor, restored);
+
+    SpaceChanges merged = nextPush();
+    // scratch came and went; streams was removed and came back, so the UI still shows it
+    assertThat(merged.getAdded()).containsExactly(watercolor);
+    assertThat(merged.getUpdated()).containsExactly(renamed, restored);
+    assertThat(merged.getRemoved()).isEmpty();
+    assertThat(pushNanos.get(1) - pushNanos.get(0)).isGreaterThanOrEqualTo(THROTTLE.toNanos());
+    assertThat(pushed.poll(THROTTLE.toMillis() * 2, TimeUnit.MILLISECONDS)).isNull();
+  }
+
+  @Test
+  void changesThatCancelOutAreNotPushed() throws InterruptedException {
+    broadcaster.register(ui, this::record);
+    poll(intro);
+    poll(intro, streams);
+    nextPush();
+
+    poll(intro, streams, watercolor);
+    poll(intro, streams);
+
+    assertThat(pushed.poll(THROTTLE.toMillis() * 2, TimeUnit.MILLISECONDS)).isNull();
+  }
+
+  @Test
+  void removedRegistrationGetsNoPushes() throws InterruptedException {
+    broadcaster.register(ui, this::record).remove();
+    broadcaster.addCatalogListener((catalog, changes) -> {});
+    poll(intro);
+    poll(intro, streams);
+
+    assertThat(pushed.poll(THROTTLE.toMillis(), TimeUnit.MILLISECONDS)).isNull();
+    verify(ui, never()).access(any());
+  }
+
+  @Test
+  void dropsListenerOfDetachedUi() {
+    doThrow(new UIDetachedException()).when(ui).access(any());
+    broadcaster.register(ui, this::record);
+    broadcaster.addCatalogListener((catalog, changes) -> {});
+    poll(intro);
+    poll(intro, streams);
+    verify(ui, timeout(1_000)).access(any());
+
+    poll(intro, streams, watercolor);
+
+    verify(ui, after(THROTTLE.toMillis() * 2).times(1)).access(any());
+    assertThat(meterRegistry.get("space.updates.listeners").gauge().value()).isZero();
+  }
+
+  private void poll(SpaceSummary... catalog) {
+    when(spaceService.refreshSpaceSummaries()).thenReturn(Mono.just(List.of(catalog)));
+    broadcaster.poll();
+  }
+
+  private void record(SpaceChanges changes) {
+    pushNanos.add(System.nanoTime());
+    pushed.add(changes);
+  }
+
+  private SpaceChanges nextPush() throws InterruptedException {
+    SpaceChanges changes = pushed.poll(THROTTLE.toMillis() * 5, TimeUnit.MILLISECONDS);
+    assertThat(changes).as("pushed changes").isNotNull();
+    return changes;
+  }
+
+  private static SpaceSummary rename(SpaceSummary space, String title) {
+    return SpaceSummary.builder().id(space.getId()).title(title).build();
+  }
+
+  private static SpaceSummary space(String title) {
+    return SpaceSummary.builder().id(UUID.randomUUID()).title(title).build();
+  }
+}
@@ -0,0 +1,266 @@
+package com.shikshaspace.shikshaspaceui.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.shikshaspace.shikshaspaceui.config.BackgroundThreads;
+import com.shikshaspace.shikshaspaceui.config.UserSyncProperties;
+import com.shikshaspace.shikshaspaceui.dto.ExternalAuthRequest;
+import com.shikshaspace.shikshaspaceui.metrics.ErrorMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+class UserSyncServiceTest {
+
+  private final ExternalAuthRequest alice = user("alice");
+  private final ExternalAuthRequest bob = user("bob");
+
+  private UserService userService;
+  private UserSyncProperties properties;
+  private SimpleMeterRegistry meterRegistry;
+  private UserSyncService userSyncService;
+  private boolean started;
+
+  @BeforeEach
+  void setUp() {
+    userService = mock(UserService.class);
+    when(userService.registerExternalUserAsync(any())).thenReturn(Mono.empty());
+    when(userService.registerExternalUsersAsync(anyList())).thenReturn(Mono.empty());
+    properties = new UserSyncProperties();
+    properties.setFlushInterval(Duration.ofMillis(20));
+    properties.setRetryBackoff(Duration.ofMillis(1));
+    properties.setMaxRetries(1);
+    properties.setMaxRequeues(2);
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    if (started) {
+      userSyncService.stop();
+    }
+  }
+
+  @Test
+  void syncsUserOnceWithinRecentlySyncedTtl() {
+    start();
+
+    userSyncService.submit(alice);
+    verify(userService, timeout(1_000)).registerExternalUserAsync(alice);
+    await().untilAsserted(() -> assertThat(users("success")).isEqualTo(1));
+
+    userSyncService.submit(alice);
+    assertThat(requests("deduplicated")).isEqualTo(1);
+    verify(userService, after(100)).registerExternalUserAsync(alice);
+  }
+
+  @Test
+  void repeatLoginsWhileQueuedSendLatestRequest() {
+    create();
+    ExternalAuthRequest renamed = user("alice");
+    renamed.setFirstName("Alicia");
+
+    userSyncService.submit(alice);
+    userSyncService.submit(renamed);
+    startWorker();
+
+    verify(userService, timeout(1_000)).registerExternalUserAsync(renamed);
+    verify(userService, after(100).never()).registerExternalUserAsync(alice);
+    assertThat(requests("coalesced")).isEqualTo(1);
+  }
+
+  @Test
+  void skipsRequestsWithoutIdentity() {
+    create();
+
+    userSyncService.submit(ExternalAuthRequest.builder().username("anonymous").build());
+
+    assertThat(requests("queued")).isZero();
+  }
+
+  @Test
+  void dropsRequestsWhenQueueIsFull() {
+    properties.setQueueCapacity(1);
+    create();
+
+    userSyncService.submit(alice);
+    userSyncService.submit(bob);
+
+    assertThat(requests("queued")).isEqualTo(1);
+    assertThat(requests("dropped")).isEqualTo(1);
+  }
+
+  @Test
+  void requeuesFailedUserUntilMaxRequeues() {
+    when(userService.registerExternalUserAsync(any()))
+        .thenReturn(Mono.error(status(503)))
+        .thenReturn(Mono.error(status(503)))
+        .thenReturn(Mono.empty());
+    start();
+
+    userSyncService.submit(alice);
+
+    verify(userService, timeout(1_000).times(3)).registerExternalUserAsync(alice);
+    await().untilAsserted(() -> assertThat(users("success")).isEqualTo(1));
+    assertThat(requests("requeued")).isEqualTo(2);
+    assertThat(users("failure")).isEqualTo(2);
+    assertThat(requests("abandoned")).isZero();
+  }
+
+  @Test
+  void abandonsUserAfterMaxRequeues() {
+    when(userService.registerExternalUserAsync(any())).thenReturn(Mono.error(status(503)));
+    start();
+
+    userSyncService.submit(alice);
+
+    // The first attempt and max-requeues more
+    verify(userService, timeout(1_000).times(3)).registerExternalUserAsync(alice);
+    await().untilAsserted(() -> assertThat(requests("abandoned")).isEqualTo(1));
+    assertThat(requests("requeued")).isEqualTo(2);
+    verify(userService, after(100).times(3)).registerExternalUserAsync(alice);
+
+    // A later login starts over
+    userSyncService.submit(alice);
+    verify(userService, timeout(1_000).times(6)).registerExternalUserAsync(alice);
+  }
+
+  @Test
+  void retriesServerErrorsButNotClientErrors() {
+    AtomicInteger aliceCalls = new AtomicInteger();
+    AtomicInteger bobCalls = new AtomicInteger();
+    when(userService.registerExternalUserAsync(alice)).thenReturn(failing(503, aliceCalls));
+    when(userService.registerExternalUserAsync(bob)).thenReturn(failing(400, bobCalls));
+    properties.setMaxRequeues(0);
+    start();
+
+    userSyncService.submit(alice);
+    userSyncService.submit(bob);
+
+    await().untilAsserted(() -> assertThat(requests("abandoned")).isEqualTo(2));
+    assertThat(aliceCalls).hasValue(1 + properties.getMaxRetries());
+    assertThat(bobCalls).hasValue(1);
+  }
+
+  @Test
+  void sendsQueuedUsersAsOneBatch() {
+    properties.setBatchEndpoint(true);
+    create();
+
+    userSyncService.submit(alice);
+    userSyncService.submit(bob);
+    startWorker();
+
+    verify(userService, timeout(1_000)).registerExternalUsersAsync(List.of(alice, bob));
+    await().untilAsserted(() -> assertThat(users("success")).isEqualTo(2));
+    verify(userService, never()).registerExternalUserAsync(any());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {404, 405})
+  void fallsBackToPerUserSyncWithoutBatchEndpoint(int status) {
+    properties.setBatchEndpoint(true);
+    when(userService.registerExternalUsersAsync(anyList())).thenReturn(Mono.error(status(status)));
+    create();
+
+    userSyncService.submit(alice);
+    userSyncService.submit(bob);
+    startWorker();
+
+    verify(userService, timeout(1_000)).registerExternalUserAsync(alice);
+    verify(userService, timeout(1_000)).registerExternalUserAsync(bob);
+    await().untilAsserted(() -> assertThat(users("success")).isEqualTo(2));
+
+    // Batching stays off
+    ExternalAuthRequest carol = user("carol");
+    userSyncService.submit(carol);
+    verify(userService, timeout(1_000)).registerExternalUserAsync(carol);
+    verify(userService).registerExternalUsersAsync(anyList());
+  }
+
+  @Test
+  void requeuesBatchThatFailsOtherwise() {
+    properties.setBatchEndpoint(true);
+    when(userService.registerExternalUsersAsync(anyList()))
+        .thenReturn(Mono.error(status(503)))
+        .thenReturn(Mono.error(status(503)))
+        .thenReturn(Mono.empty());
+    create();
+
+    userSyncService.submit(alice);
+    userSyncService.submit(bob);
+    startWorker();
+
+    await().untilAsserted(() -> assertThat(users("success")).isEqualTo(2));
+    assertThat(requests("requeued")).isEqualTo(4);
+    verify(userService, never()).registerExternalUserAsync(any());
+  }
+
+  private void create() {
+    userSyncService =
+        new UserSyncService(
+            userService,
+            properties,
+            new ErrorMetrics(meterRegistry),
+            new BackgroundThreads(new MockEnvironment()),
+            meterRegistry);
+  }
+
+  private void startWorker() {
+    userSyncService.start();
+    started = true;
+  }
+
+  private void start() {
+    create();
+    startWorker();
+  }
+
+  private double requests(String result) {
+    return meterRegistry.get("user.sync.requests").tag("result", result).counter().count();
+  }
+
+  private double users(String outcome) {
+    return meterRegistry.get("user.sync.users").tag("outcome", outcome).counter().count();
+  }
+
+  /** Fails with {@code status} on every subscription, counting them. */
+  private static Mono<Void> failing(int status, AtomicInteger subscriptions) {
+    return Mono.defer(
+        () -> {
+          subscriptions.incrementAndGet();
+          return Mono.error(status(status));
+        });
+  }
+
+  private static WebClientResponseException status(int status) {
+    return WebClientResponseException.create(status, "", null, null, null);
+  }
+
+  private static ExternalAuthRequest user(String name) {
+    return ExternalAuthRequest.builder()
+        .keycloakId(name + "-id")
+        .email(name + "@example.com")
+        .username(name)
+        .provider("google")
+        .build();
+  }
+}